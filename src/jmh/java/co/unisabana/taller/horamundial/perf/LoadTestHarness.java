@@ -0,0 +1,268 @@
+package co.unisabana.taller.horamundial.perf;
+
+import co.unisabana.taller.horamundial.WorldTimeApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga autocontenida: levanta la API externa simulada ({@link StubUpstream}) y la
+ * aplicación en el mismo proceso, y dispara GET /time/current a tasa fija (modelo abierto: la
+ * latencia se mide desde el instante en que la solicitud debía salir, así una cola no se esconde).
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=co.unisabana.taller.horamundial.perf.LoadTestHarness \
+ *     -Dbenchmark.args="--load.rates=100,500,1000 --stub.latency=PT0.05S --stub.error-rate=0.02"
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=co.unisabana.taller.horamundial.perf.LoadTestHarness \
+ *     -Dbenchmark.args="--load.modes=REACTIVE,BLOCKING --load.rates=200,1000 --stub.latency=PT0.2S"
+ * </pre>
+ *
+ * Con {@code --load.modes=REACTIVE,BLOCKING} la misma serie se repite con cada modo de ejecución
+ * (app.execution.mode), cada uno en su propio contexto. Además de la latencia se informan el pico
+ * de memoria usada, de hilos de plataforma y de solicitudes en curso, y la memoria por solicitud
+ * concurrente ((pico - base) / pico en curso). BLOCKING corre con hilos virtuales.
+ *
+ * Opciones: {@code --load.modes}, {@code --load.rates}, {@code --load.duration}, {@code --load.warmup}, {@code --load.zones},
+ * {@code --stub.latency}, {@code --stub.jitter}, {@code --stub.error-rate}, {@code --stub.close-rate},
+ * {@code --stub.slow-rate}, {@code --stub.slow-latency}.
+ * Cualquier otra opción se pasa a Spring, por ejemplo {@code --app.world-time-api.pool.max-connections=50}.
+ */
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        List<Integer> rates = Arrays.stream(option(options, "load.rates", "100,250,500").split(","))
+                .map(String::trim).map(Integer::parseInt).toList();
+        Duration duration = Duration.parse(option(options, "load.duration", "PT20S"));
+        Duration warmup = Duration.parse(option(options, "load.warmup", "PT5S"));
+        int zoneCount = Integer.parseInt(option(options, "load.zones", "50"));
+        StubUpstream.Faults faults = new StubUpstream.Faults(
+                Duration.parse(option(options, "stub.latency", "PT0.02S")),
+                Duration.parse(option(options, "stub.jitter", "PT0.01S")),
+                Double.parseDouble(option(options, "stub.error-rate", "0")),
+                Double.parseDouble(option(options, "stub.close-rate", "0")),
+                Double.parseDouble(option(options, "stub.slow-rate", "0")),
+                Duration.parse(option(options, "stub.slow-latency", "PT1S")));
+
+        List<String> modes = Arrays.stream(option(options, "load.modes", "").split(","))
+                .map(String::trim).filter(mode -> !mode.isEmpty()).toList();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        try (StubUpstream upstream = StubUpstream.start(faults)) {
+            System.out.printf("Stub: %s%n", faults);
+            if (modes.isEmpty()) {
+                sweep(client, upstream, withDefaults(args, upstream), rates, duration, warmup, zoneCount);
+            }
+            for (String mode : modes) {
+                System.out.printf("%n== Modo %s ==%n", mode);
+                List<String> modeArgs = new ArrayList<>(Arrays.asList(args));
+                modeArgs.add("--app.execution.mode=" + mode);
+                modeArgs.add("--spring.threads.virtual.enabled=" + mode.equalsIgnoreCase("BLOCKING"));
+                sweep(client, upstream, withDefaults(modeArgs.toArray(String[]::new), upstream), rates, duration,
+                        warmup, zoneCount);
+            }
+            System.out.printf("%nStub: %d errores inyectados, %d cierres prematuros, %d respuestas lentas%n",
+                    upstream.injectedErrors(), upstream.prematureCloses(), upstream.slowResponses());
+        }
+    }
+
+    private static void sweep(HttpClient client, StubUpstream upstream, String[] args, List<Integer> rates,
+                              Duration duration, Duration warmup, int zoneCount) throws InterruptedException {
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(WorldTimeApplication.class).run(args)) {
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            List<URI> targets = targets(port, zoneCount);
+
+            System.out.printf("Calentando %s a %d sol/s...%n", warmup, rates.get(0));
+            run(client, targets, rates.get(0), warmup);
+
+            System.out.printf("%n%8s %10s %8s %8s %8s %10s %10s %10s %10s %10s %10s %8s %8s %10s%n",
+                    "tasa", "sol/s", "ok", "errores", "sin resp", "p50 ms", "p99 ms", "p999 ms", "max ms", "upstream",
+                    "heap MB", "hilos", "en curso", "KB/sol");
+            for (int rate : rates) {
+                long upstreamBefore = upstream.zoneRequests() + upstream.catalogRequests();
+                Result result = run(client, targets, rate, duration);
+                long upstreamCalls = upstream.zoneRequests() + upstream.catalogRequests() - upstreamBefore;
+                System.out.printf(Locale.ROOT, "%8d %10.1f %8d %8d %8d %10.2f %10.2f %10.2f %10.2f %10d %10.1f %8d %8d %10.1f%n",
+                        rate, result.throughput(), result.ok(), result.errors(), result.timeouts(),
+                        result.percentile(0.50), result.percentile(0.99), result.percentile(0.999),
+                        result.percentile(1.0), upstreamCalls, result.peakHeap() / 1048576.0, result.peakThreads(),
+                        result.peakInFlight(), result.kilobytesPerRequest());
+            }
+        }
+    }
+
+    private static Result run(HttpClient client, List<URI> targets, int rate, Duration duration) throws InterruptedException {
+        int total = (int) (rate * duration.toMillis() / 1000);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        AtomicLongArray latencies = new AtomicLongArray(total);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(total);
+        // Base tomada tras una recolección: lo que crece durante la corrida se atribuye a la carga
+        System.gc();
+        Sampler sampler = new Sampler(inFlight);
+        sampler.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long intended = start + i * interval;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            HttpRequest request = HttpRequest.newBuilder(targets.get(i % targets.size()))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.decrementAndGet();
+                        // Si ya se dio por vencida al terminar la espera, la respuesta tardía no cuenta
+                        if (!latencies.compareAndSet(index, 0, System.nanoTime() - intended)) {
+                            return;
+                        }
+                        if (error == null && response.statusCode() == 200) {
+                            ok.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                        done.countDown();
+                    });
+        }
+        done.await(duration.toSeconds() + 120, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+        sampler.interrupt();
+        sampler.join();
+        // Las que no respondieron a tiempo entran en los percentiles con la latencia que llevaban:
+        // descartarlas escondería justo la cola que miden p99 y p999
+        int timeouts = 0;
+        long[] samples = new long[total];
+        for (int i = 0; i < total; i++) {
+            if (latencies.compareAndSet(i, 0, System.nanoTime() - (start + i * interval))) {
+                timeouts++;
+            }
+            samples[i] = latencies.get(i);
+        }
+        return new Result(samples, ok.get(), errors.get(), timeouts, (ok.get() + errors.get()) * 1e9 / elapsed,
+                sampler.baseHeap, sampler.peakHeap.get(), sampler.peakThreads.get(), sampler.peakInFlight.get());
+    }
+
+    private static List<URI> targets(int port, int zoneCount) {
+        List<URI> targets = new ArrayList<>();
+        for (String zone : StubUpstream.zoneNames()) {
+            String[] parts = zone.split("/");
+            if (parts.length == 2) {
+                targets.add(URI.create(String.format("http://127.0.0.1:%d/time/current?country=%s&city=%s",
+                        port, parts[0], parts[1])));
+            }
+            if (targets.size() == zoneCount) {
+                break;
+            }
+        }
+        return targets;
+    }
+
+    // Valores por defecto de la prueba; lo que venga en la línea de comandos tiene prioridad
+    private static String[] withDefaults(String[] args, StubUpstream upstream) {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        List<String> all = new ArrayList<>(Arrays.asList(args));
+        String[][] defaults = {
+                {"server.port", "0"},
+                {"app.world-time-api.base-url", upstream.baseUrl()},
+                {"app.time-api-io.base-url", upstream.timeApiIoBaseUrl()},
+                {"app.time-source.mode", "REMOTE"},
+                // Salida legible; se puede reactivar con --logging.level.co.unisabana.taller.horamundial=INFO
+                {"logging.level.root", "ERROR"},
+                {"logging.level.co.unisabana.taller.horamundial", "OFF"},
+                {"logging.file.name", ""},
+        };
+        for (String[] entry : defaults) {
+            if (!options.containsProperty(entry[0])) {
+                all.add("--" + entry[0] + "=" + entry[1]);
+            }
+        }
+        return all.toArray(String[]::new);
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /** Mide cada 10 ms la memoria usada, los hilos de plataforma vivos y las solicitudes en curso. */
+    private static final class Sampler extends Thread {
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final AtomicInteger inFlight;
+        private final long baseHeap;
+        private final AtomicLong peakHeap = new AtomicLong();
+        private final AtomicInteger peakThreads = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+
+        Sampler(AtomicInteger inFlight) {
+            super("load-sampler");
+            setDaemon(true);
+            this.inFlight = inFlight;
+            this.baseHeap = memory.getHeapMemoryUsage().getUsed();
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                // ThreadMXBean no cuenta los hilos virtuales
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                peakInFlight.accumulateAndGet(inFlight.get(), Math::max);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+    }
+
+    private record Result(long[] latencies, int ok, int errors, int timeouts, double throughput, long baseHeap, long peakHeap,
+                          int peakThreads, int peakInFlight) {
+
+        double kilobytesPerRequest() {
+            return peakInFlight > 0 ? Math.max(0, peakHeap - baseHeap) / 1024.0 / peakInFlight : 0;
+        }
+
+        double percentile(double quantile) {
+            long[] sorted = Arrays.stream(latencies).sorted().toArray();
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package co.unisabana.taller.horamundial.perf;
+
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de arranque: lanza el JAR empaquetado como proceso aparte varias veces y mide desde el
+ * inicio del proceso hasta la primera respuesta 200 de GET /time/current. La API externa se
+ * simula en este proceso ({@link StubUpstream}), así la medición no depende de internet.
+ *
+ * <pre>
+ * ./mvnw package -DskipTests
+ * ./mvnw -Pbenchmark test-compile exec:exec \
+ *     -Dbenchmark.main=co.unisabana.taller.horamundial.perf.StartupBenchmark \
+ *     -Dbenchmark.args="--startup.runs=5"
+ * </pre>
+ *
+ * Opciones: {@code --startup.jar}, {@code --startup.runs}, {@code --startup.port} y
+ * {@code --startup.jvm-args} (separados por espacios, ej: "-XX:SharedArchiveFile=app.jsa
+ * -Dspring.aot.enabled=true"). Cualquier otra opción se pasa a la aplicación.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration MAX_STARTUP = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        Path jar = Path.of(option(options, "startup.jar", "target/horamundial-0.0.1-SNAPSHOT.jar"));
+        int runs = Integer.parseInt(option(options, "startup.runs", "5"));
+        int port = Integer.parseInt(option(options, "startup.port", "18080"));
+        String jvmArgs = option(options, "startup.jvm-args", "");
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("No existe " + jar + "; primero ./mvnw package -DskipTests");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        URI target = URI.create("http://127.0.0.1:" + port + "/time/current?country=America&city=Bogota");
+        long[] millis = new long[runs];
+        try (StubUpstream upstream = StubUpstream.start()) {
+            List<String> command = command(jar, jvmArgs, args, port, upstream);
+            System.out.printf("Comando: %s%n%n", String.join(" ", command));
+            for (int i = 0; i < runs; i++) {
+                millis[i] = timeToFirstResponse(command, client, target);
+                System.out.printf(Locale.ROOT, "Arranque %d: %d ms%n", i + 1, millis[i]);
+            }
+        }
+        long[] sorted = Arrays.stream(millis).sorted().toArray();
+        System.out.printf(Locale.ROOT, "%nHasta la primera respuesta de /time/current: mediana %d ms, mín %d ms, máx %d ms%n",
+                sorted[sorted.length / 2], sorted[0], sorted[sorted.length - 1]);
+    }
+
+    private static long timeToFirstResponse(List<String> command, HttpClient client, URI target)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(target).timeout(Duration.ofSeconds(5)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < MAX_STARTUP.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó con código " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Todavía no escucha en el puerto
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("La aplicación no respondió en " + MAX_STARTUP);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static List<String> command(Path jar, String jvmArgs, String[] args, int port, StubUpstream upstream) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!jvmArgs.isBlank()) {
+            command.addAll(Arrays.asList(jvmArgs.trim().split("\\s+")));
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--app.world-time-api.base-url=" + upstream.baseUrl());
+        command.add("--app.time-api-io.base-url=" + upstream.timeApiIoBaseUrl());
+        command.add("--app.snapshot.enabled=false");
+        command.add("--logging.file.name=");
+        for (String arg : args) {
+            if (!arg.startsWith("--startup.")) {
+                command.add(arg);
+            }
+        }
+        return command;
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,258 @@
+package co.unisabana.taller.horamundial.perf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.DisposableServer;
+import reactor.netty.NettyOutbound;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imitación en proceso de worldtimeapi.org (GET /api/timezone y /api/timezone/{Area/Location})
+ * y de timeapi.io (GET /api/TimeZone/zone y /api/TimeZone/AvailableTimeZones), calculada con la
+ * tzdb local, para medir sin salir a internet. Permite inyectar latencia, respuestas lentas,
+ * errores 503 y cierres prematuros de la conexión.
+ */
+public final class StubUpstream implements AutoCloseable {
+    private static final String PREFIX = "/api/timezone";
+    // Rutas de timeapi.io: /api/TimeZone/zone?timeZone=... y /api/TimeZone/AvailableTimeZones
+    private static final String TIME_API_IO_PREFIX = "/api/TimeZone/";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> ZONES = ZoneId.getAvailableZoneIds().stream()
+            .filter(zone -> zone.contains("/") && !zone.startsWith("Etc/") && !zone.startsWith("SystemV/"))
+            .sorted()
+            .toList();
+
+    private final DisposableServer server;
+    private final byte[] zoneList;
+    private final AtomicLong zoneRequests = new AtomicLong();
+    private final AtomicLong catalogRequests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong prematureCloses = new AtomicLong();
+    private final AtomicLong slowResponses = new AtomicLong();
+    private volatile Faults faults;
+
+    private StubUpstream(Faults faults) {
+        this.faults = faults;
+        this.zoneList = toJson(ZONES);
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle(this::handle)
+                .bindNow();
+    }
+
+    public static StubUpstream start() {
+        return new StubUpstream(Faults.NONE);
+    }
+
+    public static StubUpstream start(Faults faults) {
+        return new StubUpstream(faults);
+    }
+
+    // Se puede cambiar en caliente, por ejemplo entre fases de una prueba de carga
+    public void faults(Faults faults) {
+        this.faults = faults;
+    }
+
+    public Faults faults() {
+        return faults;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port() + PREFIX;
+    }
+
+    public String timeApiIoBaseUrl() {
+        return "http://127.0.0.1:" + server.port() + "/api";
+    }
+
+    public long zoneRequests() {
+        return zoneRequests.get();
+    }
+
+    public long catalogRequests() {
+        return catalogRequests.get();
+    }
+
+    public long injectedErrors() {
+        return injectedErrors.get();
+    }
+
+    public long prematureCloses() {
+        return prematureCloses.get();
+    }
+
+    public long slowResponses() {
+        return slowResponses.get();
+    }
+
+    public static List<String> zoneNames() {
+        return ZONES;
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        String path = request.fullPath();
+        boolean timeApiIo = path.startsWith(TIME_API_IO_PREFIX);
+        String zone;
+        if (timeApiIo) {
+            List<String> param = new QueryStringDecoder(request.uri()).parameters().get("timeZone");
+            zone = path.endsWith("/zone") && param != null ? param.get(0) : "";
+        } else if (path.startsWith(PREFIX)) {
+            zone = path.substring(PREFIX.length()).replaceFirst("^/", "");
+        } else {
+            return response.status(HttpResponseStatus.NOT_FOUND).send();
+        }
+        if (zone.isEmpty()) {
+            catalogRequests.incrementAndGet();
+        } else {
+            zoneRequests.incrementAndGet();
+        }
+
+        Faults current = faults;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextDouble() < current.prematureCloseRate()) {
+            prematureCloses.incrementAndGet();
+            // Cerrar la conexión sin responder: el cliente ve "Connection prematurely closed"
+            return Mono.fromRunnable(() -> request.withConnection(Connection::dispose));
+        }
+        Duration delay = current.latency();
+        if (!current.jitter().isZero()) {
+            delay = delay.plusNanos(random.nextLong(current.jitter().toNanos() + 1));
+        }
+        if (random.nextDouble() < current.slowRate()) {
+            slowResponses.incrementAndGet();
+            delay = delay.plus(current.slowLatency());
+        }
+        return Mono.delay(delay).then(Mono.defer(() -> respond(response, zone, timeApiIo, current)));
+    }
+
+    private Mono<Void> respond(HttpServerResponse response, String zone, boolean timeApiIo, Faults current) {
+        if (ThreadLocalRandom.current().nextDouble() < current.errorRate()) {
+            injectedErrors.incrementAndGet();
+            return json(response, HttpResponseStatus.SERVICE_UNAVAILABLE, toJson(Map.of("error", "injected failure"))).then();
+        }
+        if (zone.isEmpty()) {
+            return json(response, HttpResponseStatus.OK, zoneList).then();
+        }
+        if (!ZONES.contains(zone)) {
+            return json(response, HttpResponseStatus.NOT_FOUND, toJson(Map.of("error", "unknown location"))).then();
+        }
+        Map<String, Object> body = timeApiIo ? timeApiIoBody(zone, Instant.now()) : zoneBody(zone, Instant.now());
+        return json(response, HttpResponseStatus.OK, toJson(body)).then();
+    }
+
+    private static NettyOutbound json(HttpServerResponse response, HttpResponseStatus status, byte[] body) {
+        return response.status(status)
+                .header("Content-Type", "application/json; charset=utf-8")
+                .sendByteArray(Mono.just(body));
+    }
+
+    /**
+     * Fallas inyectadas: latencia fija más un jitter aleatorio uniforme, probabilidad de
+     * responder 503, probabilidad de cerrar la conexión antes de responder y una cola de
+     * respuestas lentas ({@code slowRate} de ellas tardan además {@code slowLatency}).
+     */
+    public record Faults(Duration latency, Duration jitter, double errorRate, double prematureCloseRate,
+                         double slowRate, Duration slowLatency) {
+        public static final Faults NONE = new Faults(Duration.ZERO, Duration.ZERO, 0, 0, 0, Duration.ZERO);
+    }
+
+    public static byte[] zoneJson(String zone, Instant now) {
+        return toJson(zoneBody(zone, now));
+    }
+
+    public static byte[] zoneListJson() {
+        return toJson(ZONES);
+    }
+
+    // Mismos campos que devuelve worldtimeapi.org para una zona
+    static Map<String, Object> zoneBody(String zone, Instant now) {
+        ZoneRules rules = ZoneId.of(zone).getRules();
+        ZonedDateTime time = now.atZone(ZoneId.of(zone));
+        ZoneOffset offset = rules.getOffset(now);
+        boolean dst = rules.isDaylightSavings(now);
+        ZoneOffsetTransition previous = rules.previousTransition(now);
+        ZoneOffsetTransition next = rules.nextTransition(now);
+        DateTimeFormatter iso = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("abbreviation", offset.getId());
+        body.put("client_ip", "127.0.0.1");
+        body.put("datetime", time.format(iso));
+        body.put("day_of_week", time.getDayOfWeek().getValue() % 7);
+        body.put("day_of_year", time.getDayOfYear());
+        body.put("dst", dst);
+        body.put("dst_from", dst && previous != null ? previous.getInstant().atOffset(ZoneOffset.UTC).format(iso) : null);
+        body.put("dst_offset", dst ? rules.getDaylightSavings(now).toSeconds() : 0);
+        body.put("dst_until", dst && next != null ? next.getInstant().atOffset(ZoneOffset.UTC).format(iso) : null);
+        body.put("raw_offset", rules.getStandardOffset(now).getTotalSeconds());
+        body.put("timezone", zone);
+        body.put("unixtime", now.getEpochSecond());
+        body.put("utc_datetime", now.atOffset(ZoneOffset.UTC).format(iso));
+        body.put("utc_offset", offset.getId().equals("Z") ? "+00:00" : offset.getId());
+        body.put("week_number", time.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        return body;
+    }
+
+    // Mismos campos que devuelve timeapi.io para una zona: hora local sin desfase y el desfase aparte
+    static Map<String, Object> timeApiIoBody(String zone, Instant now) {
+        ZoneRules rules = ZoneId.of(zone).getRules();
+        ZoneOffset offset = rules.getOffset(now);
+        boolean dst = rules.isDaylightSavings(now);
+        ZoneOffsetTransition previous = rules.previousTransition(now);
+        ZoneOffsetTransition next = rules.nextTransition(now);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timeZone", zone);
+        body.put("currentLocalTime", now.atOffset(offset).toLocalDateTime().toString());
+        body.put("currentUtcOffset", Map.of("seconds", offset.getTotalSeconds()));
+        body.put("standardUtcOffset", Map.of("seconds", rules.getStandardOffset(now).getTotalSeconds()));
+        body.put("hasDayLightSaving", next != null);
+        body.put("isDayLightSavingActive", dst);
+        Map<String, Object> interval = new LinkedHashMap<>();
+        interval.put("dstStart", dst ? instant(previous) : instant(next));
+        interval.put("dstEnd", dst ? instant(next) : null);
+        body.put("dstInterval", next != null ? interval : null);
+        return body;
+    }
+
+    private static String instant(ZoneOffsetTransition transition) {
+        return transition != null ? transition.getInstant().toString() : null;
+    }
+
+    static byte[] toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
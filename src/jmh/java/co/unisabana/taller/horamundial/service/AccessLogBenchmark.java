@@ -0,0 +1,64 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.AccessLogProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del registro de accesos en el hilo de la solicitud. DISABLED es la referencia, SAMPLED
+ * una solicitud exitosa con la muestra por defecto (5 %) y ERROR una que siempre se encola
+ * (o se descarta si el hilo que escribe no da abasto).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessLogBenchmark {
+
+    private static final long DURATION = Duration.ofMillis(3).toNanos();
+
+    @Param({"DISABLED", "SAMPLED", "ERROR"})
+    public String scenario;
+
+    private AccessLog accessLog;
+    private int status;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AccessLogProperties properties = new AccessLogProperties(!scenario.equals("DISABLED"), 0.05,
+                Duration.ofSeconds(1), 8192);
+        accessLog = new AccessLog(properties, new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry(), Clock.systemUTC());
+        status = scenario.equals("ERROR") ? 500 : 200;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        accessLog.close();
+    }
+
+    @Benchmark
+    public void record() {
+        accessLog.record("GET", "/time/current", "country=America&city=Bogota", status, DURATION, false);
+    }
+}
@@ -0,0 +1,67 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.BatchProperties;
+import co.unisabana.taller.horamundial.config.DeadlineProperties;
+import co.unisabana.taller.horamundial.config.NegativeCacheProperties;
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.StreamProperties;
+import co.unisabana.taller.horamundial.config.TimeSourceProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.config.WebClientConfig;
+import co.unisabana.taller.horamundial.config.ZoneCatalogProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arma el grafo de servicios sin levantar Spring. Las propiedades se enlazan igual que en la
+ * aplicación, así que toman sus valores por defecto salvo lo que se indique en {@code overrides}.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static <T> T properties(String prefix, Class<T> type, Map<String, String> overrides) {
+        return new Binder(new MapConfigurationPropertySource(overrides)).bindOrCreate(prefix, type);
+    }
+
+    public static TimeService timeService(String upstreamBaseUrl, Map<String, String> overrides) {
+        Clock clock = Clock.systemUTC();
+        Map<String, String> values = new HashMap<>(overrides);
+        values.put("app.world-time-api.base-url", upstreamBaseUrl);
+        // La API simulada solo imita worldtimeapi.org
+        values.putIfAbsent("app.time-source.routing.providers", "worldtimeapi");
+        TimeSourceProperties timeSourceProperties = properties("app.time-source", TimeSourceProperties.class, values);
+        TzdbTimeSource localSource = new TzdbTimeSource(clock);
+        ZoneOffsetCache offsetCache = new ZoneOffsetCache(
+                properties("app.offset-cache", OffsetCacheProperties.class, values), clock);
+        UpstreamProperties upstreamProperties = properties("app.world-time-api", UpstreamProperties.class, values);
+        UpstreamMetrics metrics = new UpstreamMetrics(new SimpleMeterRegistry());
+        WorldTimeApiTimeSource worldTimeApi = new WorldTimeApiTimeSource(
+                new WebClientConfig(upstreamProperties).webClient(WebClient.builder()), offsetCache, upstreamProperties,
+                metrics, new RetryBudget(upstreamProperties), clock);
+        UnknownZoneCache unknownZones = new UnknownZoneCache(
+                properties("app.negative-cache", NegativeCacheProperties.class, values), clock);
+        TimeSourceRouter remoteSource = new TimeSourceRouter(List.of(worldTimeApi), offsetCache, unknownZones,
+                timeSourceProperties, metrics);
+        ZoneCatalog zoneCatalog = new ZoneCatalog(localSource, remoteSource, timeSourceProperties,
+                properties("app.zone-catalog", ZoneCatalogProperties.class, values), clock);
+        zoneCatalog.load();
+        return new TimeService(localSource, remoteSource, zoneCatalog, new LocationResolver(localSource),
+                timeSourceProperties,
+                properties("app.batch", BatchProperties.class, values),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ZoneTickerRegistry(localSource, new ObjectMapper(), clock),
+                properties("app.stream", StreamProperties.class, values),
+                properties("app.deadline", DeadlineProperties.class, values), metrics, new EmbeddedTimeCache());
+    }
+}
@@ -0,0 +1,61 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.dto.TimeRequest;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.perf.StubUpstream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getCurrentTime} de punta a punta contra la API externa simulada en proceso.
+ * LOCAL calcula con la tzdb, REMOTE_CACHED reutiliza el desfase en caché y REMOTE_UNCACHED
+ * hace una llamada HTTP por solicitud.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GetCurrentTimeBenchmark {
+
+    @Param({"LOCAL", "REMOTE_CACHED", "REMOTE_UNCACHED"})
+    public String scenario;
+
+    private StubUpstream upstream;
+    private TimeService timeService;
+    private TimeRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        upstream = StubUpstream.start();
+        timeService = BenchmarkFixtures.timeService(upstream.baseUrl(), Map.of(
+                "app.time-source.mode", scenario.equals("LOCAL") ? "LOCAL" : "REMOTE",
+                "app.offset-cache.max-entries", scenario.equals("REMOTE_UNCACHED") ? "0" : "512"));
+        request = new TimeRequest("America", "New York");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        upstream.close();
+    }
+
+    @Benchmark
+    public TimeResponse getCurrentTime() {
+        return timeService.getCurrentTime(request).block();
+    }
+}
@@ -0,0 +1,85 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.perf.StubUpstream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminos calientes de TimeService que no dependen de red.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeServiceBenchmark {
+
+    private WorldTimeApiTimeSource remoteSource;
+    private TzdbTimeSource localSource;
+    private WorldTimeApiResponse upstreamBody;
+    private TimeResponse response;
+    private ObjectMapper objectMapper;
+    private LocationResolver locationResolver;
+
+    @Setup
+    public void setUp() throws Exception {
+        Clock clock = Clock.systemUTC();
+        objectMapper = new ObjectMapper();
+        localSource = new TzdbTimeSource(clock);
+        locationResolver = new LocationResolver(localSource);
+        UpstreamProperties upstreamProperties =
+                BenchmarkFixtures.properties("app.world-time-api", UpstreamProperties.class, Map.of());
+        remoteSource = new WorldTimeApiTimeSource(WebClient.create(), new ZoneOffsetCache(
+                BenchmarkFixtures.properties("app.offset-cache", OffsetCacheProperties.class, Map.of()), clock),
+                upstreamProperties, new UpstreamMetrics(new SimpleMeterRegistry()), new RetryBudget(upstreamProperties), clock);
+        upstreamBody = objectMapper.readValue(
+                StubUpstream.zoneJson("America/New_York", Instant.parse("2025-07-01T17:30:00Z")), WorldTimeApiResponse.class);
+        response = localSource.compute("America/New_York");
+    }
+
+    @Benchmark
+    public TimeResponse mapToTimeResponse() {
+        return remoteSource.mapToTimeResponse(upstreamBody).block();
+    }
+
+    @Benchmark
+    public String formatTimezone() {
+        return TimeService.formatTimezone(" America ", "New York");
+    }
+
+    @Benchmark
+    public List<String> resolveLocation() {
+        return locationResolver.resolve("Estados Unidos", "Nueva York");
+    }
+
+    @Benchmark
+    public TimeResponse computeLocally() {
+        return localSource.compute("America/New_York");
+    }
+
+    @Benchmark
+    public byte[] serializeTimeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,81 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.perf.StubUpstream;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificación de las respuestas de la API externa. Correr con {@code -prof gc} para comparar
+ * la asignación por llamada: {@code legacy*} reproduce el camino anterior (String + ObjectMapper
+ * nuevo + JsonNode) y {@code codec*} el decoder compartido que escribe directo en el record.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UpstreamDecodeBenchmark {
+    private static final ResolvableType ZONE_TYPE = ResolvableType.forClass(WorldTimeApiResponse.class);
+    private static final ResolvableType ZONE_LIST_TYPE = ResolvableType.forClassWithGenerics(List.class, String.class);
+
+    private byte[] zoneBody;
+    private byte[] zoneListBody;
+    private Jackson2JsonDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        zoneBody = StubUpstream.zoneJson("Europe/Madrid", Instant.parse("2025-07-01T17:30:00Z"));
+        zoneListBody = StubUpstream.zoneListJson();
+        decoder = new Jackson2JsonDecoder(Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Benchmark
+    public JsonNode legacyZone() throws Exception {
+        String body = new String(zoneBody, StandardCharsets.UTF_8);
+        return new ObjectMapper().readTree(body);
+    }
+
+    @Benchmark
+    public Object codecZone() {
+        return decoder.decodeToMono(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(zoneBody)),
+                ZONE_TYPE, MediaType.APPLICATION_JSON, null).block();
+    }
+
+    @Benchmark
+    public List<String> legacyZoneList() throws Exception {
+        String body = new String(zoneListBody, StandardCharsets.UTF_8);
+        JsonNode rootNode = new ObjectMapper().readTree(body);
+        List<String> zones = new ArrayList<>();
+        rootNode.elements().forEachRemaining(node -> zones.add(node.asText()));
+        return zones;
+    }
+
+    @Benchmark
+    public Object codecZoneList() {
+        return decoder.decodeToMono(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(zoneListBody)),
+                ZONE_LIST_TYPE, MediaType.APPLICATION_JSON, null).block();
+    }
+}
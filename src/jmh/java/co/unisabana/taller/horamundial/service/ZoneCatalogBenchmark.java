@@ -0,0 +1,60 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.perf.StubUpstream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda por prefijo sobre el catálogo completo: rango en el arreglo ordenado frente al
+ * recorrido lineal con startsWith que se hacía antes en cada solicitud.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZoneCatalogBenchmark {
+
+    @Param({"America/", "America/Argentina/", "Europe/Madrid"})
+    public String prefix;
+
+    private ZoneCatalog.Snapshot snapshot;
+    private List<String> zones;
+
+    @Setup
+    public void setUp() {
+        zones = StubUpstream.zoneNames();
+        snapshot = ZoneCatalog.Snapshot.of(1, zones, "stub", Instant.now());
+    }
+
+    @Benchmark
+    public List<String> sortedRange() {
+        return snapshot.withPrefix(prefix);
+    }
+
+    @Benchmark
+    public List<String> linearScan() {
+        List<String> matching = new ArrayList<>();
+        for (String zone : zones) {
+            if (zone.startsWith(prefix)) {
+                matching.add(zone);
+            }
+        }
+        return matching;
+    }
+}
@@ -2,10 +2,12 @@ package co.unisabana.taller.horamundial;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableRetry
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class WorldTimeApplication {
 
 	public static void main(String[] args) {
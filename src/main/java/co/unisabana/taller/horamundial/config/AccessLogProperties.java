@@ -0,0 +1,17 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.access-log")
+public record AccessLogProperties(
+        @DefaultValue("true") boolean enabled,
+        // Fracción de las solicitudes exitosas que se registran; errores y lentas siempre
+        @DefaultValue("0.05") double sampleRate,
+        // Desde esta duración una solicitud cuenta como lenta
+        @DefaultValue("PT1S") Duration slowThreshold,
+        // Eventos pendientes de escribir; si se llena se descartan y se cuentan
+        @DefaultValue("8192") int bufferSize) {
+}
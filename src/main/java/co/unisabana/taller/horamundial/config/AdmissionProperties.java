@@ -0,0 +1,23 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        // Solicitudes en proceso a la vez; las asíncronas cuentan hasta que se responden.
+        // Sin valor se calcula a partir de server.tomcat.threads.max (ver AdmissionControl)
+        Integer maxConcurrent,
+        // Solicitudes que pueden esperar un lugar; las demás se rechazan con 503 enseguida.
+        // Sin valor, un cuarto de los hilos de Tomcat disponibles (un octavo en modo BLOCKING sin hilos virtuales)
+        Integer maxQueue,
+        @DefaultValue("PT0.2S") Duration queueTimeout,
+        // Valor del encabezado Retry-After de las respuestas 503
+        @DefaultValue("PT1S") Duration retryAfter,
+        // Prefijos de ruta que nunca se rechazan: salud, métricas y flujos SSE
+        @DefaultValue({"/ping", "/actuator", "/time/stream"}) List<String> exemptPaths) {
+}
@@ -0,0 +1,12 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.batch")
+public record BatchProperties(
+        // Máximo de ubicaciones por solicitud
+        @DefaultValue("100") int maxItems,
+        // Ubicaciones que se resuelven en paralelo dentro de un mismo lote
+        @DefaultValue("16") int concurrency) {
+}
@@ -0,0 +1,31 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.cache")
+public record CacheProperties(
+        // EMBEDDED: cada réplica con su caché; PEERS: cada zona tiene una réplica dueña que consulta la API externa
+        @DefaultValue("EMBEDDED") Mode mode,
+        // URL propia tal como la ven las demás réplicas (ej: http://10.0.0.5:8080)
+        @DefaultValue("") String self,
+        // URLs fijas de las réplicas
+        @DefaultValue({}) List<String> peers,
+        // Nombre DNS que resuelve a las IPs de todas las réplicas (Service headless de Kubernetes)
+        @DefaultValue("") String discovery,
+        // Puerto interno del tráfico entre réplicas, aparte del de la API: se abre solo en modo PEERS y es el
+        // único que atiende /internal/offsets. También es el puerto de las réplicas descubiertas por DNS
+        @DefaultValue("8081") int port,
+        // Nodos virtuales por réplica en el anillo; más nodos reparten las zonas más parejo
+        @DefaultValue("128") int virtualNodes,
+        // Tiempo máximo para la consulta a la réplica dueña antes de ir a la API externa
+        @DefaultValue("PT0.5S") Duration timeout,
+        @DefaultValue("PT15S") Duration refreshInterval) {
+
+    public enum Mode {
+        EMBEDDED, PEERS
+    }
+}
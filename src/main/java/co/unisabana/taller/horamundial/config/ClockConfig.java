@@ -0,0 +1,16 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // Reloj compartido por los componentes que calculan la hora o manejan vencimientos
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
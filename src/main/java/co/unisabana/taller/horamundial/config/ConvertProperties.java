@@ -0,0 +1,14 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.convert")
+public record ConvertProperties(
+        // Máximo de instantes por solicitud
+        @DefaultValue("1000") int maxInstants,
+        // Máximo de zonas por solicitud
+        @DefaultValue("600") int maxZones,
+        // Filas (instantes) que se calculan en paralelo; acota también la memoria en uso
+        @DefaultValue("4") int concurrency) {
+}
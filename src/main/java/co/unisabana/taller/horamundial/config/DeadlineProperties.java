@@ -0,0 +1,14 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.deadline")
+public record DeadlineProperties(
+        // Plazo total de una solicitud cuando el cliente no envía X-Request-Timeout
+        @DefaultValue("PT5S") Duration defaultTimeout,
+        // Tope para el plazo que pide el cliente
+        @DefaultValue("PT30S") Duration maxTimeout) {
+}
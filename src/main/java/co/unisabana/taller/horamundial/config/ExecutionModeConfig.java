@@ -0,0 +1,93 @@
+package co.unisabana.taller.horamundial.config;
+
+import co.unisabana.taller.horamundial.controller.BlockingMonoReturnValueHandler;
+import co.unisabana.taller.horamundial.service.BlockingUpstream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Piezas del modo de ejecución BLOCKING (app.execution.mode). Se eligen al ejecutar y no con
+ * {@code @ConditionalOnProperty}, que en la imagen AOT quedaría fijo al compilar.
+ */
+@Configuration
+public class ExecutionModeConfig {
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+    private static final int THREAD_TTL_SECONDS = 60;
+
+    @Bean
+    public BlockingUpstream blockingUpstream(ExecutionProperties execution, UpstreamProperties properties,
+                                             RestClient.Builder builder, Environment environment) {
+        if (execution.mode() != ExecutionProperties.Mode.BLOCKING) {
+            return BlockingUpstream.disabled();
+        }
+        UpstreamProperties.Timeouts timeouts = properties.timeouts();
+        int maxConnections = properties.pool().maxConnections();
+        HttpClient.Builder http = HttpClient.newBuilder()
+                .connectTimeout(timeouts.connect())
+                .version(properties.http().http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        Scheduler scheduler;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            VirtualThreadTaskExecutor virtualThreads = new VirtualThreadTaskExecutor("upstream-");
+            http.executor(virtualThreads);
+            // Un hilo virtual por llamada, como máximo tantos como conexiones del pool
+            scheduler = Schedulers.newBoundedElastic(maxConnections, Integer.MAX_VALUE,
+                    virtualThreads.getVirtualThreadFactory(), THREAD_TTL_SECONDS);
+        } else {
+            // Degradación: sin spring.threads.virtual.enabled (o una imagen AOT compilada sin el perfil blocking)
+            log.warn("Modo BLOCKING sin hilos virtuales (spring.threads.virtual.enabled apagado); Tomcat y las "
+                    + "llamadas externas usan hilos de plataforma");
+            scheduler = Schedulers.newBoundedElastic(maxConnections, Integer.MAX_VALUE, "upstream", THREAD_TTL_SECONDS);
+        }
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(http.build());
+        requestFactory.setReadTimeout(timeouts.read());
+        RestClient client = builder
+                .baseUrl(properties.baseUrl())
+                .requestFactory(requestFactory)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader(HttpHeaders.USER_AGENT, properties.http().userAgent())
+                .build();
+        return BlockingUpstream.create(client, scheduler);
+    }
+
+    /**
+     * En modo BLOCKING los Mono que devuelven los controladores se resuelven en el hilo de la
+     * solicitud, sin despacho asíncrono del servlet. Los Flux (SSE, NDJSON) siguen siendo asíncronos.
+     */
+    @Bean
+    public static BeanPostProcessor blockingReturnValues(Environment environment) {
+        ExecutionProperties execution = Binder.get(environment).bindOrCreate("app.execution", ExecutionProperties.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (execution.mode() == ExecutionProperties.Mode.BLOCKING && bean instanceof RequestMappingHandlerAdapter adapter) {
+                    List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(adapter.getReturnValueHandlers());
+                    handlers.add(0, new BlockingMonoReturnValueHandler(
+                            new HandlerMethodReturnValueHandlerComposite().addHandlers(adapter.getReturnValueHandlers())));
+                    adapter.setReturnValueHandlers(handlers);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.execution")
+public record ExecutionProperties(
+        // REACTIVE: respuestas asíncronas y WebClient sobre Reactor Netty. BLOCKING: cada solicitud se resuelve
+        // en su hilo virtual (spring.threads.virtual.enabled, ver application-blocking.yml) y las APIs externas se
+        // consultan con RestClient. Sin hilos virtuales funciona igual sobre hilos de plataforma, con menos admisión
+        @DefaultValue("REACTIVE") Mode mode) {
+
+    public enum Mode {
+        REACTIVE, BLOCKING
+    }
+}
@@ -0,0 +1,14 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.negative-cache")
+public record NegativeCacheProperties(
+        // Número máximo de zonas desconocidas recordadas; se expulsa la menos usada recientemente
+        @DefaultValue("1024") int maxEntries,
+        // Tiempo durante el que una zona rechazada por la API externa no se vuelve a consultar
+        @DefaultValue("PT10M") Duration ttl) {
+}
@@ -0,0 +1,16 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.offset-cache")
+public record OffsetCacheProperties(
+        // Número máximo de zonas en caché; se expulsa la menos usada recientemente
+        @DefaultValue("512") int maxEntries,
+        // Vigencia cuando no se conoce la próxima transición de horario
+        @DefaultValue("PT6H") Duration defaultTtl,
+        // Vigencia máxima aunque la próxima transición esté más lejos
+        @DefaultValue("PT24H") Duration maxTtl) {
+}
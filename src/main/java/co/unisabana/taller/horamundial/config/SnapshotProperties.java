@@ -0,0 +1,16 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.snapshot")
+public record SnapshotProperties(
+        // Guardar el catálogo y los desfases en disco para arrancar con ellos
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("data/horamundial.snapshot") Path path,
+        // Frecuencia de escritura; también se escribe al apagar
+        @DefaultValue("PT1M") Duration writeInterval) {
+}
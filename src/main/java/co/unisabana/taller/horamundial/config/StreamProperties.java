@@ -0,0 +1,14 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.stream")
+public record StreamProperties(
+        // Zonas que puede pedir una misma conexión
+        @DefaultValue("20") int maxZones,
+        // Duración máxima de una conexión; EventSource se reconecta solo al cerrarse
+        @DefaultValue("PT1H") Duration maxDuration) {
+}
@@ -0,0 +1,11 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// Proveedor alterno (timeapi.io); pool, timeouts, reintentos y circuito se toman de app.world-time-api
+@ConfigurationProperties(prefix = "app.time-api-io")
+public record TimeApiIoProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("https://timeapi.io/api") String baseUrl) {
+}
@@ -0,0 +1,50 @@
+package co.unisabana.taller.horamundial.config;
+
+import co.unisabana.taller.horamundial.service.EmbeddedTimeCache;
+import co.unisabana.taller.horamundial.service.PeerTimeCache;
+import co.unisabana.taller.horamundial.service.TimeCache;
+import co.unisabana.taller.horamundial.service.UpstreamMetrics;
+import co.unisabana.taller.horamundial.service.ZoneOffsetCache;
+import org.apache.catalina.connector.Connector;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+
+@Configuration
+public class TimeCacheConfig {
+
+    // Se elige al ejecutar y no con @ConditionalOnProperty, que en la imagen AOT quedaría fijo al compilar
+    @Bean
+    public TimeCache timeCache(CacheProperties properties, ZoneOffsetCache offsetCache, WebClient.Builder builder,
+                               UpstreamMetrics metrics, Clock clock) {
+        if (properties.mode() == CacheProperties.Mode.PEERS) {
+            return new PeerTimeCache(properties, offsetCache, builder.build(), metrics, clock);
+        }
+        return new EmbeddedTimeCache();
+    }
+
+    /**
+     * En modo PEERS abre el puerto interno {@code app.cache.port} para el tráfico entre réplicas, aparte
+     * del de la API: así /internal/offsets no queda expuesto donde se publica el servicio.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> peerConnector(CacheProperties properties,
+                                                                                    ServerProperties server) {
+        return factory -> {
+            if (properties.mode() != CacheProperties.Mode.PEERS) {
+                return;
+            }
+            if (server.getPort() != null && server.getPort() == properties.port()) {
+                throw new IllegalStateException("app.cache.port tiene que ser distinto de server.port con app.cache.mode=PEERS");
+            }
+            Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+            connector.setPort(properties.port());
+            factory.addAdditionalTomcatConnectors(connector);
+        };
+    }
+}
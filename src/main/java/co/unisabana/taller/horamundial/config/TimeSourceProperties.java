@@ -0,0 +1,41 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.time-source")
+public record TimeSourceProperties(
+        // LOCAL: calcular con tzdb y usar la API externa solo como respaldo; REMOTE: siempre la API externa
+        @DefaultValue("LOCAL") Mode mode,
+        @DefaultValue CrossCheck crossCheck,
+        @DefaultValue Routing routing) {
+
+    public enum Mode {
+        LOCAL, REMOTE
+    }
+
+    // Verificación periódica de la tzdb local contra la API externa
+    public record CrossCheck(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("PT1H") Duration interval,
+            @DefaultValue({"America/Bogota", "Europe/Madrid"}) List<String> zones,
+            @DefaultValue("PT2S") Duration tolerance) {
+    }
+
+    // Elección entre las APIs externas según latencia y errores recientes
+    public record Routing(
+            // Proveedores habilitados, en orden de preferencia mientras no haya datos
+            @DefaultValue({"worldtimeapi", "timeapi"}) List<String> providers,
+            // Llamadas recientes por proveedor que se consideran
+            @DefaultValue("50") int window,
+            // Con menos muestras el proveedor se prueba antes que los demás para conocerlo
+            @DefaultValue("5") int minSamples,
+            // Fracción de solicitudes que va a un proveedor distinto del mejor, para mantener sus datos al día
+            @DefaultValue("0.05") double exploreRatio,
+            // Por encima de esta tasa de errores el proveedor solo se usa si los demás también fallan
+            @DefaultValue("0.2") double maxErrorRate) {
+    }
+}
@@ -0,0 +1,16 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.transitions")
+public record TransitionProperties(
+        // Transiciones pasadas que se conservan en el índice
+        @DefaultValue("P30D") Duration lookBehind,
+        // Hasta dónde se calculan las transiciones futuras
+        @DefaultValue("P400D") Duration horizon,
+        // Frecuencia con la que se corre la ventana del índice
+        @DefaultValue("PT6H") Duration refreshInterval) {
+}
@@ -0,0 +1,98 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.world-time-api")
+public record UpstreamProperties(
+        @DefaultValue("http://worldtimeapi.org/api/timezone") String baseUrl,
+        @DefaultValue Pool pool,
+        @DefaultValue Http http,
+        @DefaultValue Timeouts timeouts,
+        @DefaultValue RetryPolicy retry,
+        @DefaultValue Hedge hedge,
+        @DefaultValue CircuitBreakerPolicy circuitBreaker,
+        @DefaultValue ConcurrencyLimit concurrencyLimit) {
+
+    // Pool de conexiones del ConnectionProvider 'custom'
+    public record Pool(
+            @DefaultValue("500") int maxConnections,
+            @DefaultValue("PT30S") Duration maxIdleTime,
+            @DefaultValue("PT10M") Duration maxLifeTime,
+            // Espera máxima por una conexión libre; el límite de concurrencia evita llegar a esperar
+            @DefaultValue("PT2S") Duration pendingAcquireTimeout,
+            @DefaultValue("PT120S") Duration evictInBackground,
+            // Conexiones que se abren con cada proveedor al arrancar (0 lo desactiva)
+            @DefaultValue("2") int warmupConnections,
+            // Cada cuánto se revisa el pool para reponer las conexiones descartadas
+            @DefaultValue("PT25S") Duration warmupInterval,
+            // Solo se reponen conexiones de los proveedores consultados en este lapso
+            @DefaultValue("PT5M") Duration warmupRecentTraffic) {
+    }
+
+    public record Http(
+            // HTTP/2 por TLS (ALPN) si el proveedor lo ofrece; si no, HTTP/1.1
+            @DefaultValue("true") boolean http2,
+            // HTTP/2 sin TLS (upgrade h2c); apagado porque hay intermediarios que no lo toleran
+            @DefaultValue("false") boolean h2c,
+            // Pide respuestas con gzip y las descomprime
+            @DefaultValue("true") boolean compression,
+            @DefaultValue("WorldTimeAPI Client") String userAgent) {
+    }
+
+    public record Timeouts(
+            @DefaultValue("PT10S") Duration connect,
+            @DefaultValue("PT10S") Duration response,
+            @DefaultValue("PT10S") Duration read,
+            @DefaultValue("PT10S") Duration write,
+            // Tiempo máximo de cada intento de consulta de una zona
+            @DefaultValue("PT10S") Duration request) {
+    }
+
+    public record RetryPolicy(
+            @DefaultValue("3") int maxRetries,
+            @DefaultValue("PT0.5S") Duration backoff,
+            // No se reintenta si al plazo de la solicitud le queda menos que la espera más este margen
+            @DefaultValue("PT0.1S") Duration minAttemptTime,
+            // Presupuesto global: reintentos por consulta y reposición mínima por segundo
+            @DefaultValue("0.1") double budgetRatio,
+            @DefaultValue("5") double budgetMinPerSecond) {
+    }
+
+    // Segunda solicitud si la primera tarda más que el percentil observado; gana la primera respuesta
+    public record Hedge(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("0.95") double percentile,
+            // Muestras necesarias antes de confiar en el percentil; mientras tanto se usa maxDelay
+            @DefaultValue("20") int minSamples,
+            @DefaultValue("PT0.05S") Duration minDelay,
+            @DefaultValue("PT2S") Duration maxDelay) {
+    }
+
+    // Abre el circuito si la tasa de fallas de las últimas llamadas supera el umbral
+    public record CircuitBreakerPolicy(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("0.5") double failureRateThreshold,
+            @DefaultValue("20") int slidingWindowSize,
+            @DefaultValue("10") int minimumCalls,
+            @DefaultValue("PT30S") Duration openDuration,
+            // Llamadas de prueba permitidas en semiabierto; si todas salen bien se cierra
+            @DefaultValue("3") int halfOpenCalls) {
+    }
+
+    // Límite adaptativo (AIMD) de llamadas simultáneas por fuente; las que lo superan se rechazan sin esperar
+    public record ConcurrencyLimit(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("2") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            // Factor con el que baja el límite ante una falla o una respuesta lenta
+            @DefaultValue("0.9") double backoffRatio,
+            // Una respuesta es lenta si tarda más que este múltiplo de la latencia mínima reciente
+            @DefaultValue("2.0") double latencyTolerance,
+            // Cada cuánto se vuelve a medir la latencia mínima, por si cambió la de la API
+            @DefaultValue("PT1M") Duration rttWindow) {
+    }
+}
@@ -10,59 +10,40 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 import reactor.netty.resources.ConnectionProvider;
-import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebClientConfig {
     private static final Logger log = LoggerFactory.getLogger(WebClientConfig.class);
+    /** Nombre del pool en las métricas reactor.netty.connection.provider.* */
+    public static final String POOL_NAME = "custom";
+    static final String READ_TIMEOUT_HANDLER = "horamundial.readTimeout";
+    static final String WRITE_TIMEOUT_HANDLER = "horamundial.writeTimeout";
+
+    private final UpstreamProperties properties;
+
+    public WebClientConfig(UpstreamProperties properties) {
+        this.properties = properties;
+    }
     
+    // Se parte del WebClient.Builder de Spring Boot para reutilizar sus codecs y su ObjectMapper
     @Bean
-    public WebClient webClient() {
-        // Configuración del proveedor de conexiones con un pool de conexiones
-        ConnectionProvider connectionProvider = ConnectionProvider.builder("custom")
-                .maxConnections(500)
-                .maxIdleTime(Duration.ofSeconds(20))
-                .maxLifeTime(Duration.ofSeconds(60))
-                .pendingAcquireTimeout(Duration.ofSeconds(60))
-                .evictInBackground(Duration.ofSeconds(120))
-                .build();
-
-        // Configuración de timeouts y opciones de conexión
-        HttpClient httpClient = HttpClient.create(connectionProvider)
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000) // 10 segundos
-                .responseTimeout(Duration.ofSeconds(10)) // 10 segundos
-                .doOnConnected(conn -> 
-                    conn.addHandlerLast(new ReadTimeoutHandler(10, TimeUnit.SECONDS))
-                       .addHandlerLast(new WriteTimeoutHandler(10, TimeUnit.SECONDS)))
-                // Habilitar keep-alive
-                .keepAlive(true)
-                // Configuración adicional para manejo de errores
-                .doOnRequest((req, conn) -> {
-                    conn.addHandlerLast(new io.netty.handler.timeout.ReadTimeoutHandler(10, TimeUnit.SECONDS));
-                    conn.addHandlerLast(new io.netty.handler.timeout.WriteTimeoutHandler(10, TimeUnit.SECONDS));
-                });
-        
-        // Configuración de la estrategia de intercambio con buffer más grande
-        final int size = 32 * 1024 * 1024; // 32MB
-        final ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(codecs -> {
-                    codecs.defaultCodecs().maxInMemorySize(size);
-                    codecs.defaultCodecs().enableLoggingRequestDetails(true);
-                })
-                .build();
-        
-        return WebClient.builder()
-                .baseUrl("http://worldtimeapi.org/api/timezone")
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .exchangeStrategies(strategies)
+    public WebClient webClient(WebClient.Builder builder) {
+        // Las respuestas se decodifican directamente a objetos, basta el límite de memoria por defecto
+        return builder
+                .baseUrl(properties.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient(properties)))
+                .codecs(codecs -> codecs.defaultCodecs().enableLoggingRequestDetails(true))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.USER_AGENT, "WorldTimeAPI Client")
+                .defaultHeader(HttpHeaders.USER_AGENT, properties.http().userAgent())
                 .filter((request, next) -> {
                     logRequest(request);
                     return next.exchange(request)
@@ -70,6 +51,46 @@ public class WebClientConfig {
                 })
                 .build();
     }
+
+    /** Cliente HTTP con el pool de conexiones, los protocolos y los timeouts configurados. */
+    static HttpClient httpClient(UpstreamProperties properties) {
+        // Configuración del proveedor de conexiones con un pool de conexiones
+        UpstreamProperties.Pool pool = properties.pool();
+        UpstreamProperties.Timeouts timeouts = properties.timeouts();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(pool.maxConnections())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .evictInBackground(pool.evictInBackground())
+                // Conexiones activas, ociosas y pendientes, y tiempo de adquisición del pool en Micrometer
+                .metrics(true)
+                .build();
+
+        return HttpClient.create(connectionProvider)
+                .protocol(protocols(properties.http()))
+                .compress(properties.http().compression())
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeouts.connect().toMillis())
+                .responseTimeout(timeouts.response())
+                // Habilitar keep-alive
+                .keepAlive(true)
+                // Un solo juego de handlers por solicitud: con nombre no se agregan dos veces, y Reactor Netty
+                // los quita al devolver la conexión al pool, así una conexión ociosa no corta por timeout
+                .doOnRequest((request, conn) -> conn
+                        .addHandlerLast(READ_TIMEOUT_HANDLER, new ReadTimeoutHandler(timeouts.read().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(WRITE_TIMEOUT_HANDLER, new WriteTimeoutHandler(timeouts.write().toMillis(), TimeUnit.MILLISECONDS)));
+    }
+
+    private static HttpProtocol[] protocols(UpstreamProperties.Http http) {
+        List<HttpProtocol> protocols = new ArrayList<>(List.of(HttpProtocol.HTTP11));
+        if (http.http2()) {
+            protocols.add(HttpProtocol.H2);
+        }
+        if (http.h2c()) {
+            protocols.add(HttpProtocol.H2C);
+        }
+        return protocols.toArray(HttpProtocol[]::new);
+    }
     
     private void logRequest(org.springframework.web.reactive.function.client.ClientRequest request) {
         log.debug("Request: {} {}", request.method(), request.url());
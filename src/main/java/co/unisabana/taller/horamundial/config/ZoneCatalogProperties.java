@@ -0,0 +1,16 @@
+package co.unisabana.taller.horamundial.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.zone-catalog")
+public record ZoneCatalogProperties(
+        // Vigencia de cada snapshot del catálogo
+        @DefaultValue("PT24H") Duration ttl,
+        // Margen antes del vencimiento en que se recarga en segundo plano
+        @DefaultValue("PT1H") Duration refreshAhead,
+        // Frecuencia con la que se revisa si toca recargar
+        @DefaultValue("PT1M") Duration checkInterval) {
+}
@@ -0,0 +1,77 @@
+package co.unisabana.taller.horamundial.controller;
+
+import co.unisabana.taller.horamundial.service.AccessLog;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Mide cada solicitud y la pasa a {@link AccessLog}. Los controladores devuelven Mono/Flux, así
+ * que la mayoría de las solicitudes terminan después de salir del filtro: en ese caso se espera
+ * al fin del procesamiento asíncrono.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLog accessLog;
+
+    public AccessLogFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !accessLog.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, (HttpServletResponse) event.getSuppliedResponse(), start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, response, start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long start) {
+        String contentType = response.getContentType();
+        boolean streaming = contentType != null && (contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE)
+                || contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        accessLog.record(request.getMethod(), request.getRequestURI(), request.getQueryString(), response.getStatus(),
+                System.nanoTime() - start, streaming);
+    }
+}
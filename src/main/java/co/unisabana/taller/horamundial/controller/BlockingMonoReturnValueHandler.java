@@ -0,0 +1,75 @@
+package co.unisabana.taller.horamundial.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+
+/**
+ * Resuelve en el hilo de la solicitud el Mono que devuelve un controlador y pasa el valor al
+ * manejador que le corresponde (ResponseEntity, cuerpo JSON), como si el método lo hubiera
+ * devuelto directamente. Se usa en modo BLOCKING: con hilos virtuales esperar es barato y se
+ * evita el despacho asíncrono del servlet. Un error del Mono llega a {@code GlobalExceptionHandler}.
+ */
+public class BlockingMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+    private final HandlerMethodReturnValueHandlerComposite delegates;
+
+    public BlockingMonoReturnValueHandler(HandlerMethodReturnValueHandlerComposite delegates) {
+        this.delegates = delegates;
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return Mono.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest) throws Exception {
+        Object value = returnValue != null ? ((Mono<?>) returnValue).block() : null;
+        delegates.handleReturnValue(value, new ResultMethodParameter(returnType, value), mavContainer, webRequest);
+    }
+
+    /** El tipo de retorno pasa a ser el del valor resuelto (T en {@code Mono<T>}), igual que tras un despacho asíncrono. */
+    private static final class ResultMethodParameter extends MethodParameter {
+        private final Object value;
+        private final ResolvableType type;
+
+        private ResultMethodParameter(MethodParameter original, Object value) {
+            super(original);
+            this.value = value;
+            this.type = ResolvableType.forMethodParameter(original).getGeneric();
+        }
+
+        private ResultMethodParameter(ResultMethodParameter original) {
+            super(original);
+            this.value = original.value;
+            this.type = original.type;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            if (value != null) {
+                return value.getClass();
+            }
+            Class<?> resolved = type.resolve();
+            return resolved != null ? resolved : super.getParameterType();
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return type.getType();
+        }
+
+        @Override
+        public ResultMethodParameter clone() {
+            return new ResultMethodParameter(this);
+        }
+    }
+}
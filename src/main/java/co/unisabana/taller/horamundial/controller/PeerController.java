@@ -0,0 +1,56 @@
+package co.unisabana.taller.horamundial.controller;
+
+import co.unisabana.taller.horamundial.config.CacheProperties;
+import co.unisabana.taller.horamundial.service.PeerTimeCache;
+import co.unisabana.taller.horamundial.service.TimeCache;
+import co.unisabana.taller.horamundial.service.TimeSourceRouter;
+import co.unisabana.taller.horamundial.service.TzdbTimeSource;
+import co.unisabana.taller.horamundial.service.ZoneCatalog;
+import co.unisabana.taller.horamundial.service.ZoneOffsetCache;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Endpoint entre réplicas de la caché compartida; no es parte de la API pública. Solo responde en
+ * el puerto interno {@code app.cache.port}, que no publica el Service de la API, y solo para zonas
+ * del catálogo: por el puerto público devuelve 404 como cualquier ruta desconocida.
+ */
+@Hidden
+@RestController
+public class PeerController {
+
+    private final TimeCache timeCache;
+    private final TimeSourceRouter remoteSource;
+    private final ZoneCatalog zoneCatalog;
+    private final TzdbTimeSource localSource;
+    private final CacheProperties properties;
+
+    public PeerController(TimeCache timeCache, TimeSourceRouter remoteSource, ZoneCatalog zoneCatalog,
+                          TzdbTimeSource localSource, CacheProperties properties) {
+        this.timeCache = timeCache;
+        this.remoteSource = remoteSource;
+        this.zoneCatalog = zoneCatalog;
+        this.localSource = localSource;
+        this.properties = properties;
+    }
+
+    @GetMapping("/internal/offsets")
+    public Mono<ResponseEntity<ZoneOffsetCache.OffsetWindow>> getOffset(@RequestParam String zone,
+                                                                        HttpServletRequest request) {
+        if (!(timeCache instanceof PeerTimeCache peers) || request.getLocalPort() != properties.port()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        if (!zoneCatalog.contains(zone) && !localSource.supports(zone)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        // Directo a la fuente remota: la réplica que pregunta ya decidió que esta es la dueña
+        return peers.ownedWindow(zone, remoteSource::currentTime)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.noContent().build());
+    }
+}
@@ -1,29 +1,61 @@
 package co.unisabana.taller.horamundial.controller;
 
+import co.unisabana.taller.horamundial.dto.BatchTimeResult;
+import co.unisabana.taller.horamundial.dto.ConversionResult;
+import co.unisabana.taller.horamundial.dto.ConvertRequest;
 import co.unisabana.taller.horamundial.dto.TimeRequest;
 import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.dto.TransitionResponse;
+import co.unisabana.taller.horamundial.service.Deadline;
+import co.unisabana.taller.horamundial.service.TimeConversionService;
 import co.unisabana.taller.horamundial.service.TimeService;
+import co.unisabana.taller.horamundial.service.TransitionIndex;
+import co.unisabana.taller.horamundial.service.ZoneCatalogResponses;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
 @RestController
 @RequestMapping("/time")
 @Tag(name = "Time API", description = "API para obtener la hora actual de diferentes ubicaciones del mundo")
 public class TimeController {
 
+    private static final String TIMEOUT_DESCRIPTION = "Plazo total de la solicitud en milisegundos o como duración " +
+            "ISO-8601 (ej: 2000 o PT2S). Sin él se usa app.deadline.default-timeout; nunca más que app.deadline.max-timeout";
+
     private final TimeService timeService;
+    private final TimeConversionService conversionService;
+    private final TransitionIndex transitionIndex;
+    private final ZoneCatalogResponses zoneResponses;
+    private final Clock clock;
     
-    public TimeController(TimeService timeService) {
+    public TimeController(TimeService timeService, TimeConversionService conversionService,
+                          TransitionIndex transitionIndex, ZoneCatalogResponses zoneResponses, Clock clock) {
         this.timeService = timeService;
+        this.conversionService = conversionService;
+        this.transitionIndex = transitionIndex;
+        this.zoneResponses = zoneResponses;
+        this.clock = clock;
     }
 
     @Operation(
@@ -42,6 +74,10 @@ public class TimeController {
                 responseCode = "400", 
                 description = "Parámetros de entrada inválidos o ubicación no encontrada"
             ),
+            @ApiResponse(
+                responseCode = "504", 
+                description = "Se agotó el plazo de la solicitud"
+            ),
             @ApiResponse(
                 responseCode = "500", 
                 description = "Error interno del servidor"
@@ -49,8 +85,11 @@ public class TimeController {
         }
     )
     @PostMapping("/current")
-    public Mono<ResponseEntity<TimeResponse>> getCurrentTime(@Valid @RequestBody TimeRequest request) {
-        return timeService.getCurrentTime(request)
+    public Mono<ResponseEntity<TimeResponse>> getCurrentTime(
+            @Valid @RequestBody TimeRequest request,
+            @Parameter(description = TIMEOUT_DESCRIPTION)
+            @RequestHeader(name = Deadline.HEADER, required = false) String timeout) {
+        return timeService.getCurrentTime(request, Deadline.parseTimeout(timeout))
                 .map(ResponseEntity::ok);
     }
 
@@ -69,16 +108,198 @@ public class TimeController {
             @ApiResponse(
                 responseCode = "400", 
                 description = "Parámetros de entrada inválidos o ubicación no encontrada"
+            ),
+            @ApiResponse(
+                responseCode = "504", 
+                description = "Se agotó el plazo de la solicitud"
             )
         }
     )
     @GetMapping("/current")
     public Mono<ResponseEntity<TimeResponse>> getCurrentTimeGet(
             @RequestParam String country,
-            @RequestParam String city) {
+            @RequestParam String city,
+            @Parameter(description = TIMEOUT_DESCRIPTION)
+            @RequestHeader(name = Deadline.HEADER, required = false) String timeout) {
         
         TimeRequest request = new TimeRequest(country, city);
-        return timeService.getCurrentTime(request)
+        return timeService.getCurrentTime(request, Deadline.parseTimeout(timeout))
+                .map(response -> ResponseEntity.ok()
+                        // Sin max-age: con Expires en el próximo segundo exacto, un caché (CDN, navegador)
+                        // sirve la misma respuesta hasta que cambia el segundo y luego vuelve a pedirla
+                        .cacheControl(CacheControl.empty().cachePublic())
+                        .headers(headers -> headers.setExpires(
+                                clock.instant().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1).toEpochMilli()))
+                        .body(response));
+    }
+
+    @Operation(
+        summary = "Catálogo de zonas horarias",
+        description = "Lista las zonas horarias conocidas, opcionalmente filtradas por área (ej: America) o " +
+                      "prefijo (ej: America/Argentina/). Se responde desde el catálogo en memoria; con " +
+                      "If-None-Match y el ETag de una respuesta anterior se obtiene 304 si no cambió",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Zonas ordenadas alfabéticamente",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = String.class))
+                )
+            ),
+            @ApiResponse(
+                responseCode = "304", 
+                description = "El catálogo no cambió desde el ETag enviado"
+            )
+        }
+    )
+    @GetMapping("/zones")
+    public ResponseEntity<byte[]> getZones(
+            @Parameter(description = "Área de la tzdb (ej: America, Europe)")
+            @RequestParam(required = false) String area,
+            @Parameter(description = "Prefijo de la zona (ej: America/Argentina/); dentro del área si se indica")
+            @RequestParam(required = false) String prefix,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        String filter = prefix != null ? prefix : "";
+        if (area != null && !area.isBlank()) {
+            filter = area + "/" + filter;
+        }
+        ZoneCatalogResponses.Body body = zoneResponses.zones(filter);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+        if (body.matches(ifNoneMatch, gzip)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(body.etag(gzip))
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(body.etag(gzip))
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body.content(gzip));
+    }
+
+    @Operation(
+        summary = "Obtener la hora actual de varias ubicaciones",
+        description = "Resuelve una lista de ubicaciones en una sola llamada. El resultado conserva el orden " +
+                      "de la solicitud y cada elemento trae la hora o el error de esa ubicación",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Lote procesado; revisar 'result' o 'error' en cada elemento",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = BatchTimeResult.class))
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Lote vacío o con más ubicaciones de las permitidas"
+            )
+        }
+    )
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<BatchTimeResult>>> getCurrentTimes(
+            @RequestBody List<TimeRequest> requests,
+            @Parameter(description = TIMEOUT_DESCRIPTION)
+            @RequestHeader(name = Deadline.HEADER, required = false) String timeout) {
+        return timeService.getCurrentTimes(requests, Deadline.parseTimeout(timeout))
+                .collectList()
                 .map(ResponseEntity::ok);
     }
+
+    @Operation(
+        summary = "Convertir instantes a varias zonas horarias",
+        description = "Recibe N instantes ISO-8601 (ej: 2025-07-01T17:30:00Z) y M zonas horarias y devuelve " +
+                      "la matriz N×M calculada localmente, sin llamar a la API externa. Se emite como NDJSON " +
+                      "(un objeto por línea) en orden: cada instante en todas las zonas antes del siguiente",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Un ConversionResult por línea",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = ConversionResult.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Sin instantes o zonas, zonas desconocidas o más elementos de los permitidos " +
+                              "(cuerpo JSON, aunque se pida NDJSON)"
+            )
+        }
+    )
+    @PostMapping(value = "/convert", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> convert(@RequestBody ConvertRequest request) {
+        // Cada elemento es una fila de la matriz ya serializada como NDJSON
+        return conversionService.convert(request);
+    }
+
+    @Operation(
+        summary = "Próximos cambios de horario",
+        description = "Lista las transiciones de desfase (inicio y fin del horario de verano u otros cambios) " +
+                      "de los próximos días, ordenadas por instante. Sin 'zones' incluye todas las zonas. " +
+                      "Se responde desde un índice precalculado, sin llamar a la API externa",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Transiciones encontradas",
+                content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = TransitionResponse.class))
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Zonas horarias desconocidas o rango fuera del horizonte del índice"
+            )
+        }
+    )
+    @GetMapping("/transitions")
+    public Mono<ResponseEntity<List<TransitionResponse>>> getTransitions(
+            @Parameter(description = "Días hacia adelante (por defecto 30)")
+            @RequestParam(defaultValue = "30") int days,
+            @Parameter(description = "Zonas horarias a incluir (ej: Europe/Madrid,America/New_York)")
+            @RequestParam(required = false) List<String> zones) {
+        List<TransitionResponse> transitions = transitionIndex.upcoming(Duration.ofDays(days), zones).stream()
+                .map(TransitionIndex.Transition::toResponse)
+                .toList();
+        return Mono.just(ResponseEntity.ok(transitions));
+    }
+
+    @Operation(
+        summary = "Reloj en vivo (Server-Sent Events)",
+        description = "Emite cada segundo un evento 'time' con la hora de cada zona solicitada " +
+                      "(ej: zones=America/Bogota,Europe/Madrid). Todas las conexiones de una misma zona " +
+                      "comparten el mismo cálculo por segundo",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Flujo de eventos con un TimeResponse por zona y segundo",
+                content = @Content(
+                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = TimeResponse.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Zonas horarias desconocidas o demasiadas zonas (cuerpo JSON, aunque se pida text/event-stream)"
+            )
+        }
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamTime(@RequestParam List<String> zones) {
+        // El payload ya viene serializado como JSON, se envía tal cual
+        return timeService.streamTime(zones)
+                .map(tick -> ServerSentEvent.builder(tick.payload())
+                        .event("time")
+                        .build());
+    }
 }
@@ -0,0 +1,61 @@
+package co.unisabana.taller.horamundial.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchTimeResult {
+    private String country;
+    private String city;
+    private TimeResponse result;
+    private String error;
+
+    public BatchTimeResult() {
+    }
+
+    public BatchTimeResult(String country, String city, TimeResponse result, String error) {
+        this.country = country;
+        this.city = city;
+        this.result = result;
+        this.error = error;
+    }
+
+    public static BatchTimeResult success(TimeRequest request, TimeResponse result) {
+        return new BatchTimeResult(request.getCountry(), request.getCity(), result, null);
+    }
+
+    public static BatchTimeResult failure(TimeRequest request, String error) {
+        return new BatchTimeResult(request.getCountry(), request.getCity(), null, error);
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public TimeResponse getResult() {
+        return result;
+    }
+
+    public void setResult(TimeResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
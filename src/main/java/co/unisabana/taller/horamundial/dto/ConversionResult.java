@@ -0,0 +1,32 @@
+package co.unisabana.taller.horamundial.dto;
+
+import java.time.Instant;
+
+public class ConversionResult {
+    private Instant instant;
+    private TimeResponse result;
+
+    public ConversionResult() {
+    }
+
+    public ConversionResult(Instant instant, TimeResponse result) {
+        this.instant = instant;
+        this.result = result;
+    }
+
+    public Instant getInstant() {
+        return instant;
+    }
+
+    public void setInstant(Instant instant) {
+        this.instant = instant;
+    }
+
+    public TimeResponse getResult() {
+        return result;
+    }
+
+    public void setResult(TimeResponse result) {
+        this.result = result;
+    }
+}
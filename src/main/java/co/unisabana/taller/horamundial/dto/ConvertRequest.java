@@ -0,0 +1,33 @@
+package co.unisabana.taller.horamundial.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ConvertRequest {
+    private List<Instant> instants;
+    private List<String> zones;
+
+    public ConvertRequest() {
+    }
+
+    public ConvertRequest(List<Instant> instants, List<String> zones) {
+        this.instants = instants;
+        this.zones = zones;
+    }
+
+    public List<Instant> getInstants() {
+        return instants;
+    }
+
+    public void setInstants(List<Instant> instants) {
+        this.instants = instants;
+    }
+
+    public List<String> getZones() {
+        return zones;
+    }
+
+    public void setZones(List<String> zones) {
+        this.zones = zones;
+    }
+}
@@ -0,0 +1,84 @@
+package co.unisabana.taller.horamundial.dto;
+
+import java.time.Instant;
+
+public class TransitionResponse {
+    private String timezone;
+    private Instant instant;
+    private String offsetBefore;
+    private String offsetAfter;
+    private String localDatetimeBefore;
+    private String localDatetimeAfter;
+    // GAP: el reloj se adelanta; OVERLAP: el reloj se atrasa y una hora local se repite
+    private String type;
+
+    public TransitionResponse() {
+    }
+
+    public TransitionResponse(String timezone, Instant instant, String offsetBefore, String offsetAfter,
+                              String localDatetimeBefore, String localDatetimeAfter, String type) {
+        this.timezone = timezone;
+        this.instant = instant;
+        this.offsetBefore = offsetBefore;
+        this.offsetAfter = offsetAfter;
+        this.localDatetimeBefore = localDatetimeBefore;
+        this.localDatetimeAfter = localDatetimeAfter;
+        this.type = type;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public Instant getInstant() {
+        return instant;
+    }
+
+    public void setInstant(Instant instant) {
+        this.instant = instant;
+    }
+
+    public String getOffsetBefore() {
+        return offsetBefore;
+    }
+
+    public void setOffsetBefore(String offsetBefore) {
+        this.offsetBefore = offsetBefore;
+    }
+
+    public String getOffsetAfter() {
+        return offsetAfter;
+    }
+
+    public void setOffsetAfter(String offsetAfter) {
+        this.offsetAfter = offsetAfter;
+    }
+
+    public String getLocalDatetimeBefore() {
+        return localDatetimeBefore;
+    }
+
+    public void setLocalDatetimeBefore(String localDatetimeBefore) {
+        this.localDatetimeBefore = localDatetimeBefore;
+    }
+
+    public String getLocalDatetimeAfter() {
+        return localDatetimeAfter;
+    }
+
+    public void setLocalDatetimeAfter(String localDatetimeAfter) {
+        this.localDatetimeAfter = localDatetimeAfter;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+}
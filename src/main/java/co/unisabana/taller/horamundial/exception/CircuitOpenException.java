@@ -0,0 +1,10 @@
+package co.unisabana.taller.horamundial.exception;
+
+/**
+ * La llamada a la API externa se rechazó sin intentarla porque su circuito está abierto.
+ */
+public class CircuitOpenException extends TimeApiException {
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
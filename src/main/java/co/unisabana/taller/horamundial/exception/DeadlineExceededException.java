@@ -0,0 +1,14 @@
+package co.unisabana.taller.horamundial.exception;
+
+/**
+ * Se agotó el plazo total de la solicitud antes de obtener la hora.
+ */
+public class DeadlineExceededException extends TimeApiException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,25 @@
+package co.unisabana.taller.horamundial.exception;
+
+import java.time.Duration;
+
+/**
+ * La solicitud se rechazó sin procesarla por exceso de carga; el cliente puede volver a
+ * intentarlo después de {@link #getRetryAfter()}.
+ */
+public class OverloadedException extends TimeApiException {
+    private final Duration retryAfter;
+
+    public OverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /** Valor del encabezado Retry-After: segundos enteros, redondeados hacia arriba. */
+    public static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+}
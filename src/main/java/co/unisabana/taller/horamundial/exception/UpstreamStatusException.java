@@ -0,0 +1,17 @@
+package co.unisabana.taller.horamundial.exception;
+
+/**
+ * Respuesta de error (4xx/5xx) de la API externa. Conserva el código para clasificar la falla.
+ */
+public class UpstreamStatusException extends RuntimeException {
+    private final int statusCode;
+
+    public UpstreamStatusException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
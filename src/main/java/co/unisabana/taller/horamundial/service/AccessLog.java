@@ -0,0 +1,158 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.AccessLogProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro de accesos estructurado (una línea JSON por solicitud en el logger
+ * {@code horamundial.access}). El hilo de la solicitud solo decide si el evento se guarda y lo
+ * deja en una cola acotada; un hilo aparte lo serializa y lo escribe. Se registran todos los
+ * errores y solicitudes lentas y una muestra de las exitosas; si la cola está llena el evento
+ * se descarta y se cuenta en {@code horamundial.access.log.dropped}.
+ */
+@Component
+public class AccessLog {
+    private static final Logger log = LoggerFactory.getLogger(AccessLog.class);
+    private static final Logger access = LoggerFactory.getLogger("horamundial.access");
+    private static final Duration DROP_REPORT_INTERVAL = Duration.ofSeconds(10);
+    private static final int BATCH_SIZE = 256;
+
+    private final AccessLogProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final BlockingQueue<AccessEvent> queue;
+    private final Counter dropped;
+    private final AtomicLong droppedSinceReport = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AccessLog(AccessLogProperties properties, ObjectMapper objectMapper, MeterRegistry registry, Clock clock) {
+        this(properties, objectMapper, registry, clock, properties.enabled());
+    }
+
+    AccessLog(AccessLogProperties properties, ObjectMapper objectMapper, MeterRegistry registry, Clock clock,
+              boolean startWriter) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(properties.bufferSize());
+        this.dropped = Counter.builder("horamundial.access.log.dropped")
+                .description("Eventos del registro de accesos descartados por cola llena")
+                .register(registry);
+        Gauge.builder("horamundial.access.log.pending", queue, BlockingQueue::size)
+                .description("Eventos del registro de accesos pendientes de escribir")
+                .register(registry);
+        this.writer = new Thread(this::drain, "access-log");
+        this.writer.setDaemon(true);
+        if (startWriter) {
+            this.writer.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * Registra una solicitud terminada. No bloquea ni serializa: las exitosas que no entran en la
+     * muestra no crean ningún objeto.
+     */
+    public void record(String method, String path, String query, int status, long durationNanos, boolean streaming) {
+        if (!properties.enabled()) {
+            return;
+        }
+        // Los flujos (SSE, NDJSON) duran lo que dure la conexión, no cuentan como lentos
+        boolean slow = !streaming && durationNanos >= properties.slowThreshold().toNanos();
+        double sampleRate = 1.0;
+        if (status < 400 && !slow) {
+            sampleRate = properties.sampleRate();
+            if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return;
+            }
+        }
+        AccessEvent event = new AccessEvent(clock.instant(), method, path, query, status,
+                durationNanos / 1_000_000.0, slow, sampleRate);
+        if (!queue.offer(event)) {
+            dropped.increment();
+            droppedSinceReport.incrementAndGet();
+        }
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void close() throws InterruptedException {
+        // Sin interrumpir: el hilo termina al ver la cola vacía, a lo sumo un segundo después
+        running = false;
+        if (writer.isAlive()) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void drain() {
+        List<AccessEvent> batch = new ArrayList<>(BATCH_SIZE);
+        long nextReport = System.nanoTime() + DROP_REPORT_INTERVAL.toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                AccessEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    batch.forEach(this::write);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (System.nanoTime() - nextReport >= 0) {
+                reportDrops();
+                nextReport = System.nanoTime() + DROP_REPORT_INTERVAL.toNanos();
+            }
+        }
+        reportDrops();
+    }
+
+    private void write(AccessEvent event) {
+        try {
+            access.info(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo serializar el evento de acceso {}: {}", event, e.getMessage());
+        }
+    }
+
+    private void reportDrops() {
+        long count = droppedSinceReport.getAndSet(0);
+        if (count > 0) {
+            log.warn("Registro de accesos saturado: se descartaron {} eventos", count);
+        }
+    }
+
+    public record AccessEvent(Instant timestamp, String method, String path, String query, int status, double durationMs,
+                              boolean slow, double sampleRate) {
+    }
+}
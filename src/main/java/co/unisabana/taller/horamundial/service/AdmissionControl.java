@@ -0,0 +1,134 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.AdmissionProperties;
+import co.unisabana.taller.horamundial.config.ExecutionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Control de admisión de solicitudes. Hay {@code maxConcurrent} lugares; si no queda ninguno la
+ * solicitud espera en una cola de {@code maxQueue} como máximo {@code queueTimeout}, y si la cola
+ * está llena o se agota la espera se rechaza. Así una API externa lenta no acumula solicitudes
+ * ni hilos de Tomcat sin límite y las rutas exentas (salud, métricas) siguen respondiendo.
+ * Para eso lugares y cola, juntos, tienen que caber en {@code server.tomcat.threads.max} dejando
+ * una reserva de hilos libres: los límites que no se configuran se calculan así. En modo BLOCKING
+ * sin hilos virtuales los límites calculados son más bajos, ver {@link #resolve}.
+ */
+@Component
+public class AdmissionControl {
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControl.class);
+    static final String REJECTED = "horamundial.admission.rejected";
+    private static final int MIN_RESERVED_THREADS = 10;
+
+    private final AdmissionProperties properties;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter queueFull;
+    private final Counter queueTimeout;
+
+    @Autowired
+    public AdmissionControl(AdmissionProperties properties, ServerProperties server, ExecutionProperties execution,
+                            Environment environment, MeterRegistry registry) {
+        this(resolve(properties, server.getTomcat().getThreads().getMax(),
+                execution.mode() == ExecutionProperties.Mode.BLOCKING && !Threading.VIRTUAL.isActive(environment)),
+                registry);
+    }
+
+    AdmissionControl(AdmissionProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.permits = new Semaphore(properties.maxConcurrent(), true);
+        this.queueFull = rejected(registry, "queue_full");
+        this.queueTimeout = rejected(registry, "queue_timeout");
+        Gauge.builder("horamundial.admission.in.flight", permits, p -> properties.maxConcurrent() - p.availablePermits())
+                .description("Solicitudes admitidas en proceso")
+                .register(registry);
+        Gauge.builder("horamundial.admission.queued", queued, AtomicInteger::get)
+                .description("Solicitudes esperando un lugar")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public boolean isExempt(String path) {
+        return properties.exemptPaths().stream().anyMatch(path::startsWith);
+    }
+
+    public AdmissionProperties properties() {
+        return properties;
+    }
+
+    /** Pide un lugar; si devuelve true hay que liberarlo con {@link #exit()} al terminar. */
+    public boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > properties.maxQueue()) {
+            queued.decrementAndGet();
+            queueFull.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(properties.queueTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            queueTimeout.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    /**
+     * Completa los límites sin valor a partir de los hilos de Tomcat. Una solicitud en la cola
+     * ocupa un hilo mientras espera y una admitida lo ocupa al menos hasta que el controlador
+     * responde o pasa a asíncrono, así que entre las dos se deja libre un 10 % de los hilos (10
+     * como mínimo) para las rutas exentas. Si los límites configurados no caben se avisa al arrancar.
+     * <p>
+     * Con {@code platformThreadPerCall} (modo BLOCKING sin hilos virtuales) una solicitud admitida
+     * ocupa su hilo de Tomcat hasta responder y otro hilo de plataforma mientras consulta la API
+     * externa, así que cuenta doble y la cola se reduce a un octavo de los hilos disponibles.
+     */
+    static AdmissionProperties resolve(AdmissionProperties properties, int tomcatThreads, boolean platformThreadPerCall) {
+        int available = Math.max(2, tomcatThreads - Math.max(MIN_RESERVED_THREADS, tomcatThreads / 10));
+        int threadsPerRequest = platformThreadPerCall ? 2 : 1;
+        int maxQueue = properties.maxQueue() != null
+                ? properties.maxQueue()
+                : available / (platformThreadPerCall ? 8 : 4);
+        int maxConcurrent = properties.maxConcurrent() != null
+                ? properties.maxConcurrent()
+                : Math.max(1, (available - maxQueue) / threadsPerRequest);
+        if (properties.enabled() && maxConcurrent * threadsPerRequest + maxQueue > available) {
+            log.warn("app.admission admite {} solicitudes en proceso y {} en cola, más que los {} hilos de Tomcat "
+                    + "disponibles (server.tomcat.threads.max={}{}): con el servicio saturado las rutas exentas "
+                    + "pueden quedarse sin hilo", maxConcurrent, maxQueue, available, tomcatThreads,
+                    platformThreadPerCall ? ", dos hilos de plataforma por solicitud en modo BLOCKING" : "");
+        }
+        return new AdmissionProperties(properties.enabled(), maxConcurrent, maxQueue, properties.queueTimeout(),
+                properties.retryAfter(), properties.exemptPaths());
+    }
+
+    private static Counter rejected(MeterRegistry registry, String reason) {
+        return Counter.builder(REJECTED)
+                .description("Solicitudes rechazadas con 503 por exceso de carga")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,69 @@
+package co.unisabana.taller.horamundial.service;
+
+import org.springframework.web.client.RestClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cliente bloqueante de las APIs externas para el modo BLOCKING: RestClient sobre el HttpClient
+ * del JDK, con cada llamada en un hilo virtual propio (de plataforma si los hilos virtuales están
+ * apagados). Las fuentes lo envuelven en un Mono para conservar el circuito, los reintentos y los
+ * plazos. En modo REACTIVE está desactivado y las fuentes usan su WebClient.
+ */
+public final class BlockingUpstream {
+    private static final BlockingUpstream DISABLED = new BlockingUpstream(null, null);
+
+    private final RestClient client;
+    private final Scheduler scheduler;
+
+    private BlockingUpstream(RestClient client, Scheduler scheduler) {
+        this.client = client;
+        this.scheduler = scheduler;
+    }
+
+    public static BlockingUpstream disabled() {
+        return DISABLED;
+    }
+
+    public static BlockingUpstream create(RestClient client, Scheduler scheduler) {
+        return new BlockingUpstream(client, scheduler);
+    }
+
+    public boolean isEnabled() {
+        return client != null;
+    }
+
+    /** El mismo cliente con otra URL base, para los proveedores que no usan la de app.world-time-api. */
+    public BlockingUpstream withBaseUrl(String baseUrl) {
+        return isEnabled() ? new BlockingUpstream(client.mutate().baseUrl(baseUrl).build(), scheduler) : this;
+    }
+
+    public RestClient client() {
+        return client;
+    }
+
+    /**
+     * Ejecuta la llamada en su propio hilo; si se cancela (timeout del intento) el hilo se
+     * interrumpe y el error que produzca la llamada ya cancelada se descarta sin registrarlo.
+     */
+    public <T> Mono<T> call(Callable<T> call) {
+        return Mono.defer(() -> {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            return Mono.fromCallable(() -> {
+                        try {
+                            return call.call();
+                        } catch (Exception e) {
+                            if (cancelled.get()) {
+                                return null;
+                            }
+                            throw e;
+                        }
+                    })
+                    .doOnCancel(() -> cancelled.set(true))
+                    .subscribeOn(scheduler);
+        });
+    }
+}
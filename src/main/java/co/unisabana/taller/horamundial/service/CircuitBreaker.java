@@ -0,0 +1,125 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Circuito por conteo sobre las últimas llamadas. Cerrado: deja pasar todo y abre si la tasa de
+ * fallas supera el umbral. Abierto: rechaza sin llamar hasta que pase {@code openDuration}.
+ * Semiabierto: deja pasar unas pocas llamadas de prueba; una falla lo vuelve a abrir.
+ */
+public final class CircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final UpstreamProperties.CircuitBreakerPolicy policy;
+    private final Clock clock;
+    private final boolean[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(String name, UpstreamProperties.CircuitBreakerPolicy policy, Clock clock) {
+        this.name = name;
+        this.policy = policy;
+        this.clock = clock;
+        this.outcomes = new boolean[Math.max(1, policy.slidingWindowSize())];
+    }
+
+    /** Indica si se puede intentar la llamada. Cada permiso concedido se cierra con un on*(). */
+    public synchronized boolean tryAcquire() {
+        if (!policy.enabled()) {
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(policy.openDuration()))) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= policy.halfOpenCalls()) {
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            if (++halfOpenSuccesses >= policy.halfOpenCalls()) {
+                transition(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= policy.minimumCalls() && failures >= policy.failureRateThreshold() * calls) {
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    /** La llamada terminó sin un resultado que cuente (por ejemplo, se canceló). */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transition(State target) {
+        log.warn("Circuito de {}: {} -> {}", name, state, target);
+        state = target;
+        switch (target) {
+            case OPEN -> openedAt = clock.instant();
+            case HALF_OPEN -> {
+                halfOpenInFlight = 0;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                next = 0;
+                calls = 0;
+                failures = 0;
+            }
+        }
+    }
+}
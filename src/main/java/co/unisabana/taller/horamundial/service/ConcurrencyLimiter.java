@@ -0,0 +1,109 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Límite adaptativo de llamadas simultáneas a una API externa (AIMD). Cada respuesta rápida sube
+ * el límite en 1/límite, o sea en uno por cada tanda completa de llamadas. Un timeout, un error de
+ * conexión, un 5xx o una respuesta más lenta que {@code latencyTolerance} veces la latencia mínima
+ * reciente lo multiplican por {@code backoffRatio}, a lo sumo una vez por latencia mínima para que
+ * una ráfaga de timeouts no lo hunda de golpe. Sin permiso la llamada se rechaza de inmediato en
+ * vez de esperar una conexión del pool.
+ */
+public final class ConcurrencyLimiter {
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    private final String name;
+    private final UpstreamProperties.ConcurrencyLimit policy;
+    private final Clock clock;
+    private double limit;
+    private int inFlight;
+    private long minRttNanos = Long.MAX_VALUE;
+    private Instant minRttSince;
+    private Instant lastDecrease;
+
+    public ConcurrencyLimiter(String name, UpstreamProperties.ConcurrencyLimit policy, Clock clock) {
+        this.name = name;
+        this.policy = policy;
+        this.clock = clock;
+        this.limit = Math.max(policy.minLimit(), Math.min(policy.maxLimit(), policy.initialLimit()));
+    }
+
+    /** Indica si se puede hacer la llamada. Cada permiso concedido se cierra con un on*(). */
+    public synchronized boolean tryAcquire() {
+        if (!policy.enabled()) {
+            return true;
+        }
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long rttNanos) {
+        if (!policy.enabled()) {
+            return;
+        }
+        release();
+        Instant now = clock.instant();
+        if (minRttSince == null || !now.isBefore(minRttSince.plus(policy.rttWindow()))) {
+            minRttNanos = rttNanos;
+            minRttSince = now;
+        } else {
+            minRttNanos = Math.min(minRttNanos, rttNanos);
+        }
+        if (rttNanos > minRttNanos * policy.latencyTolerance()) {
+            decrease(now);
+        } else {
+            limit = Math.min(policy.maxLimit(), limit + 1.0 / limit);
+        }
+    }
+
+    /** La API no respondió bien (timeout, conexión, 5xx). */
+    public synchronized void onDropped() {
+        if (!policy.enabled()) {
+            return;
+        }
+        release();
+        decrease(clock.instant());
+    }
+
+    /** La llamada terminó sin un resultado que cuente (cancelada, 4xx). */
+    public synchronized void onIgnored() {
+        if (policy.enabled()) {
+            release();
+        }
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private void release() {
+        inFlight = Math.max(0, inFlight - 1);
+    }
+
+    private void decrease(Instant now) {
+        Duration guard = minRttNanos == Long.MAX_VALUE ? Duration.ZERO : Duration.ofNanos(minRttNanos);
+        if (lastDecrease != null && now.isBefore(lastDecrease.plus(guard))) {
+            return;
+        }
+        lastDecrease = now;
+        int before = (int) limit;
+        limit = Math.max(policy.minLimit(), limit * policy.backoffRatio());
+        if ((int) limit != before) {
+            log.debug("Límite de concurrencia de {}: {} -> {}", name, before, (int) limit);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.TimeSourceProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.config.WebClientConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Precalienta el pool de conexiones con las APIs externas: al arrancar abre
+ * {@code pool.warmup-connections} conexiones con cada proveedor, así la primera consulta real no
+ * paga el DNS, el TCP ni el TLS. Después, cada {@code pool.warmup-interval} repone solo las que el
+ * pool descartó (por ociosas o por {@code max-life-time}) y solo en los proveedores consultados
+ * durante el último {@code pool.warmup-recent-traffic}: sin tráfico no se envía nada a las APIs.
+ * En modo LOCAL la API externa es solo un respaldo y no se precalienta.
+ */
+@Component
+public class ConnectionWarmup {
+    static final String TOTAL_CONNECTIONS = "reactor.netty.connection.provider.total.connections";
+
+    private final TimeSourceRouter router;
+    private final UpstreamProperties.Pool pool;
+    private final TimeSourceProperties timeSource;
+    private final BlockingUpstream blocking;
+    private final MeterRegistry registry;
+
+    public ConnectionWarmup(TimeSourceRouter router, UpstreamProperties properties, TimeSourceProperties timeSource,
+                            BlockingUpstream blocking, MeterRegistry registry) {
+        this.router = router;
+        this.pool = properties.pool();
+        this.timeSource = timeSource;
+        this.blocking = blocking;
+        this.registry = registry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!isActive()) {
+            return;
+        }
+        // Tampoco se bloquea el hilo que publica el evento
+        Flux.fromIterable(router.sources())
+                .filter(source -> source.circuitState() != CircuitBreaker.State.OPEN)
+                .flatMap(source -> source.warmup(pool.warmupConnections()))
+                .subscribe();
+    }
+
+    @Scheduled(initialDelayString = "${app.world-time-api.pool.warmup-interval:PT25S}",
+            fixedDelayString = "${app.world-time-api.pool.warmup-interval:PT25S}")
+    public void replenish() {
+        // El cliente bloqueante no publica el estado de su pool: solo se precalienta al arrancar
+        if (!isActive() || blocking.isEnabled()) {
+            return;
+        }
+        Flux.fromIterable(router.sources())
+                .filter(source -> source.circuitState() != CircuitBreaker.State.OPEN
+                        && source.hadTrafficWithin(pool.warmupRecentTraffic()))
+                .flatMap(source -> {
+                    int missing = pool.warmupConnections() - openConnections(source);
+                    return missing > 0 ? source.warmup(missing) : Mono.empty();
+                })
+                .subscribe();
+    }
+
+    private boolean isActive() {
+        return pool.warmupConnections() > 0 && timeSource.mode() == TimeSourceProperties.Mode.REMOTE;
+    }
+
+    /** Conexiones abiertas (activas u ociosas) con el host del proveedor según las métricas del pool. */
+    int openConnections(RemoteTimeSource source) {
+        String address = address(URI.create(source.baseUrl()));
+        return (int) registry.find(TOTAL_CONNECTIONS)
+                .tag("name", WebClientConfig.POOL_NAME)
+                .tag("remote.address", address)
+                .gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    private static String address(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return uri.getHost() + ":" + port;
+    }
+}
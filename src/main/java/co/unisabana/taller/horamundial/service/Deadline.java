@@ -0,0 +1,60 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Instante límite de una solicitud, medido con el reloj monotónico. Viaja en el Context de
+ * Reactor desde la entrada hasta las llamadas externas, que lo usan para acotar cada intento
+ * y decidir si todavía hay tiempo para reintentar.
+ */
+public final class Deadline {
+    /** Encabezado con el plazo que pide el cliente, en milisegundos o como duración ISO-8601 (PT2S). */
+    public static final String HEADER = "X-Request-Timeout";
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /** El plazo que lleva el Context, o {@code null} si la operación no tiene uno. */
+    public static Deadline from(ContextView context) {
+        return context.getOrDefault(Deadline.class, null);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /** Interpreta el valor de {@link #HEADER}; {@code null} si no viene. */
+    public static Duration parseTimeout(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Duration timeout;
+        try {
+            String trimmed = value.trim();
+            timeout = trimmed.startsWith("P") || trimmed.startsWith("p")
+                    ? Duration.parse(trimmed)
+                    : Duration.ofMillis(Long.parseLong(trimmed));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new TimeApiException("El encabezado " + HEADER + " debe ser un número de milisegundos o una duración ISO-8601");
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new TimeApiException("El encabezado " + HEADER + " debe ser mayor que cero");
+        }
+        return timeout;
+    }
+}
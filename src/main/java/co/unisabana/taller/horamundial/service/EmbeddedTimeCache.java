@@ -0,0 +1,15 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/** Cada réplica con su propia caché de desfases: basta con la que ya consultan las fuentes remotas. */
+public class EmbeddedTimeCache implements TimeCache {
+
+    @Override
+    public Mono<TimeResponse> currentTime(String timezone, Function<String, Mono<TimeResponse>> loader) {
+        return loader.apply(timezone);
+    }
+}
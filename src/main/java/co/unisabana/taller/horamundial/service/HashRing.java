@@ -0,0 +1,56 @@
+package co.unisabana.taller.horamundial.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Anillo de hash consistente: cada nodo ocupa {@code virtualNodes} posiciones y una clave
+ * pertenece al primer nodo a partir de su hash. Al agregar o quitar un nodo solo cambian de
+ * dueño las claves de ese nodo (alrededor de 1/N).
+ */
+final class HashRing {
+
+    private final Set<String> nodes;
+    private final NavigableMap<Long, String> positions = new TreeMap<>();
+
+    HashRing(Collection<String> nodes, int virtualNodes) {
+        this.nodes = Set.copyOf(new TreeSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                positions.put(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    Set<String> nodes() {
+        return nodes;
+    }
+
+    String owner(String key) {
+        if (positions.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = positions.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : positions.firstEntry().getValue();
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xff);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
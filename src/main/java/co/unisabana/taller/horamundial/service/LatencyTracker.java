@@ -0,0 +1,46 @@
+package co.unisabana.taller.horamundial.service;
+
+import java.util.Arrays;
+
+/**
+ * Percentil de latencia sobre las últimas llamadas exitosas (ventana circular de tamaño fijo).
+ * El percentil se recalcula cada pocas muestras, así leerlo en cada solicitud no cuesta un ordenamiento.
+ */
+final class LatencyTracker {
+    private static final int WINDOW = 256;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final double percentile;
+    private final long[] samples = new long[WINDOW];
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    LatencyTracker(double percentile) {
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % WINDOW;
+        if (count < WINDOW) {
+            count++;
+        }
+        if (++sinceRecompute >= RECOMPUTE_EVERY || count < RECOMPUTE_EVERY) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[(int) Math.min(count - 1, Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    /** Percentil en nanosegundos, o -1 si todavía no hay muestras. */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,202 @@
+package co.unisabana.taller.horamundial.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Índice en memoria de países, regiones y ciudades a zonas horarias. Se arma al iniciar con las
+ * zonas de la tzdb (área y ciudad de cada una) más los alias de {@code location-aliases.txt}
+ * (países y nombres en español), y compara sin tildes ni mayúsculas: "Colombia"/"Bogotá" y
+ * "Estados Unidos"/"Nueva York" se resuelven sin llamar a la API externa.
+ */
+@Component
+public class LocationResolver {
+    private static final Logger log = LoggerFactory.getLogger(LocationResolver.class);
+    private static final String ALIASES = "/location-aliases.txt";
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s_\\-.'’]+");
+
+    private final Map<String, List<String>> countries;
+    private final Map<String, List<String>> cities;
+
+    @Autowired
+    public LocationResolver(TzdbTimeSource localSource) {
+        this(localSource.availableZones().block(), LocationResolver.class.getResourceAsStream(ALIASES));
+    }
+
+    LocationResolver(Collection<String> zones, InputStream aliases) {
+        Map<String, Set<String>> countryIndex = new HashMap<>();
+        Map<String, Set<String>> cityIndex = new HashMap<>();
+        for (String zone : zones) {
+            String[] parts = zone.split("/");
+            // Área y subáreas (America, America/Argentina) funcionan como país; el último tramo es la ciudad
+            for (int i = 0; i < parts.length - 1; i++) {
+                add(countryIndex, parts[i], zone);
+            }
+            add(cityIndex, parts[parts.length - 1], zone);
+        }
+        if (aliases == null) {
+            log.warn("No se encontró {}; solo se resuelven nombres de la tzdb", ALIASES);
+        } else {
+            loadAliases(aliases, zones, countryIndex, cityIndex);
+        }
+        this.countries = freeze(countryIndex);
+        cityIndex.replaceAll((city, cityZones) -> withoutLinks(cityZones));
+        this.cities = freeze(cityIndex);
+        log.info("Índice de ubicaciones listo: {} países y regiones, {} ciudades", countries.size(), cities.size());
+    }
+
+    /**
+     * Zonas candidatas para un país (o región) y una ciudad opcional. Vacío si no se reconoce la
+     * ubicación; más de una si es ambigua.
+     */
+    public List<String> resolve(String country, String city) {
+        String cityKey = normalize(city);
+        List<String> byCountry = countries.get(normalize(country));
+        if (cityKey.isEmpty()) {
+            return byCountry != null ? byCountry : List.of();
+        }
+        List<String> byCity = cities.getOrDefault(cityKey, List.of());
+        if (byCountry == null) {
+            // País desconocido o mal escrito: basta con la ciudad
+            return byCity;
+        }
+        if (byCity.isEmpty()) {
+            // Ciudad que no está en la tzdb ni en los alias (ej: Colombia/Tunja): vale la zona del país
+            return byCountry;
+        }
+        List<String> matches = new ArrayList<>(1);
+        for (String zone : byCity) {
+            if (inCountry(zone, byCountry)) {
+                matches.add(zone);
+            }
+        }
+        return matches;
+    }
+
+    /** Sin tildes, en minúsculas y con espacios, guiones y '_' reducidos a un espacio. */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static boolean inCountry(String zone, List<String> countryZones) {
+        if (countryZones.contains(zone)) {
+            return true;
+        }
+        // Nombres antiguos de la tzdb (Europe/Kiev, Asia/Calcutta) tienen las mismas reglas que el actual
+        ZoneRules rules = ZoneId.of(zone).getRules();
+        for (String candidate : countryZones) {
+            if (ZoneId.of(candidate).getRules().equals(rules)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void loadAliases(InputStream aliases, Collection<String> zones,
+                                    Map<String, Set<String>> countryIndex, Map<String, Set<String>> cityIndex) {
+        Set<String> known = Set.copyOf(zones);
+        Map<String, Set<String>> section = null;
+        boolean regions = false;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(aliases, StandardCharsets.UTF_8))) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith("[")) {
+                    String name = line.substring(1, line.length() - 1);
+                    regions = name.equals("regiones");
+                    section = name.equals("ciudades") ? cityIndex : countryIndex;
+                    continue;
+                }
+                int separator = line.indexOf('=');
+                if (section == null || separator < 0) {
+                    log.warn("Línea {} de {} ignorada: {}", number, ALIASES, line);
+                    continue;
+                }
+                List<String> targets = new ArrayList<>();
+                for (String target : line.substring(separator + 1).split(",")) {
+                    String zone = target.trim();
+                    // Una región apunta a un área de la tzdb y toma todas sus zonas
+                    Collection<String> expanded = regions
+                            ? countryIndex.getOrDefault(normalize(zone), Set.of())
+                            : known.contains(zone) ? List.of(zone) : List.of();
+                    if (expanded.isEmpty()) {
+                        log.warn("Zona desconocida '{}' en la línea {} de {}", zone, number, ALIASES);
+                    }
+                    targets.addAll(expanded);
+                }
+                for (String name : line.substring(0, separator).split(",")) {
+                    for (String zone : targets) {
+                        add(section, name, zone);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer " + ALIASES, e);
+        }
+    }
+
+    /**
+     * La tzdb conserva nombres antiguos como enlaces (America/Buenos_Aires y
+     * America/Argentina/Buenos_Aires): para una misma ciudad se deja una sola zona por reglas,
+     * la de nombre más específico.
+     */
+    private static Set<String> withoutLinks(Set<String> zones) {
+        if (zones.size() == 1) {
+            return zones;
+        }
+        List<String> bySpecificity = new ArrayList<>(zones);
+        bySpecificity.sort(Comparator.comparingInt((String zone) -> zone.split("/").length).reversed());
+        Set<String> kept = new LinkedHashSet<>();
+        List<ZoneRules> seen = new ArrayList<>();
+        for (String zone : bySpecificity) {
+            ZoneRules rules = ZoneId.of(zone).getRules();
+            if (!seen.contains(rules)) {
+                seen.add(rules);
+                kept.add(zone);
+            }
+        }
+        return kept;
+    }
+
+    private static void add(Map<String, Set<String>> index, String name, String zone) {
+        index.computeIfAbsent(normalize(name), key -> new LinkedHashSet<>()).add(zone);
+    }
+
+    private static Map<String, List<String>> freeze(Map<String, Set<String>> index) {
+        Map<String, List<String>> frozen = new HashMap<>(index.size() * 2);
+        index.forEach((key, zones) -> frozen.put(key, List.copyOf(zones)));
+        return Map.copyOf(frozen);
+    }
+}
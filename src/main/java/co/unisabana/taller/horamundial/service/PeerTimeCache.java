@@ -0,0 +1,132 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.CacheProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Caché repartida entre réplicas. Cada zona tiene una réplica dueña según un anillo de hash
+ * consistente: solo la dueña consulta la API externa y las demás le piden el desfase y su
+ * vigencia, que guardan en su propia {@link ZoneOffsetCache}. Así las llamadas a la API externa
+ * no crecen con el número de réplicas. Si la dueña no responde a tiempo se consulta la API
+ * directamente.
+ */
+public class PeerTimeCache implements TimeCache {
+    private static final Logger log = LoggerFactory.getLogger(PeerTimeCache.class);
+    static final String OFFSETS_PATH = "/internal/offsets";
+
+    private final CacheProperties properties;
+    private final ZoneOffsetCache offsetCache;
+    private final WebClient webClient;
+    private final UpstreamMetrics metrics;
+    private final Clock clock;
+    private final String self;
+    private final AtomicReference<HashRing> ring = new AtomicReference<>();
+
+    public PeerTimeCache(CacheProperties properties, ZoneOffsetCache offsetCache, WebClient webClient,
+                         UpstreamMetrics metrics, Clock clock) {
+        if (properties.self().isBlank()) {
+            throw new IllegalStateException("app.cache.self es obligatorio con app.cache.mode=PEERS");
+        }
+        this.properties = properties;
+        this.offsetCache = offsetCache;
+        this.webClient = webClient;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.self = normalize(properties.self());
+        refreshPeers();
+    }
+
+    @Override
+    public Mono<TimeResponse> currentTime(String timezone, Function<String, Mono<TimeResponse>> loader) {
+        String owner = ring.get().owner(timezone);
+        if (owner.equals(self)) {
+            metrics.peerLookup("owner");
+            return loader.apply(timezone);
+        }
+        TimeResponse cached = offsetCache.currentTime(timezone);
+        if (cached != null) {
+            metrics.peerLookup("hit");
+            return Mono.just(cached);
+        }
+        return Mono.deferContextual(context -> {
+            Deadline deadline = Deadline.from(context);
+            Duration timeout = properties.timeout();
+            if (deadline != null && deadline.remaining().compareTo(timeout) < 0) {
+                timeout = deadline.remaining();
+            }
+            return webClient.get()
+                    .uri(owner + OFFSETS_PATH + "?zone={zone}", timezone)
+                    .retrieve()
+                    .bodyToMono(ZoneOffsetCache.OffsetWindow.class)
+                    .timeout(timeout, Mono.error(new TimeoutException("La réplica " + owner + " no respondió")))
+                    .map(window -> {
+                        offsetCache.put(timezone, window.offset(), window.validUntil());
+                        metrics.peerLookup("peer");
+                        return TimeResponseMapper.toTimeResponse(timezone, clock.instant().atZone(window.offset()));
+                    })
+                    .onErrorResume(e -> {
+                        log.debug("No se pudo obtener {} de la réplica {}, se consulta la API externa: {}",
+                                timezone, owner, e.getMessage());
+                        metrics.peerLookup("fallback");
+                        return loader.apply(timezone);
+                    });
+        });
+    }
+
+    /** Lado dueño: obtiene la hora (caché local o API externa) y devuelve la ventana del desfase. */
+    public Mono<ZoneOffsetCache.OffsetWindow> ownedWindow(String timezone, Function<String, Mono<TimeResponse>> loader) {
+        return loader.apply(timezone)
+                .then(Mono.fromSupplier(() -> offsetCache.window(timezone)));
+    }
+
+    /** Vuelve a resolver el DNS de descubrimiento; el anillo solo se reemplaza si cambian las réplicas. */
+    @Scheduled(initialDelayString = "${app.cache.refresh-interval:PT15S}",
+            fixedDelayString = "${app.cache.refresh-interval:PT15S}")
+    public void refreshPeers() {
+        Set<String> nodes = new TreeSet<>();
+        nodes.add(self);
+        properties.peers().stream().map(PeerTimeCache::normalize).forEach(nodes::add);
+        if (!properties.discovery().isBlank()) {
+            try {
+                Arrays.stream(InetAddress.getAllByName(properties.discovery()))
+                        .map(address -> "http://" + address.getHostAddress() + ":" + properties.port())
+                        .forEach(nodes::add);
+            } catch (UnknownHostException e) {
+                log.warn("No se pudo resolver {}; se mantienen las réplicas conocidas: {}", properties.discovery(), e.getMessage());
+                HashRing current = ring.get();
+                if (current != null) {
+                    return;
+                }
+            }
+        }
+        HashRing current = ring.get();
+        if (current == null || !current.nodes().equals(nodes)) {
+            ring.set(new HashRing(nodes, properties.virtualNodes()));
+            log.info("Réplicas de la caché compartida: {}", nodes);
+        }
+    }
+
+    String owner(String timezone) {
+        return ring.get().owner(timezone);
+    }
+
+    private static String normalize(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,51 @@
+package co.unisabana.taller.horamundial.service;
+
+/**
+ * Latencia y errores de las últimas llamadas a un proveedor (ventana circular por conteo).
+ * La latencia promedio se calcula solo con las llamadas exitosas: una falla rápida no debe
+ * hacer ver a un proveedor caído como el más veloz.
+ */
+final class ProviderStats {
+
+    private final long[] latencies;
+    private final boolean[] failures;
+    private int next;
+    private int count;
+    private long successLatencySum;
+    private int failureCount;
+
+    ProviderStats(int window) {
+        this.latencies = new long[Math.max(1, window)];
+        this.failures = new boolean[Math.max(1, window)];
+    }
+
+    synchronized void record(long nanos, boolean failed) {
+        if (count == latencies.length) {
+            if (failures[next]) {
+                failureCount--;
+            } else {
+                successLatencySum -= latencies[next];
+            }
+        } else {
+            count++;
+        }
+        latencies[next] = nanos;
+        failures[next] = failed;
+        if (failed) {
+            failureCount++;
+        } else {
+            successLatencySum += nanos;
+        }
+        next = (next + 1) % latencies.length;
+    }
+
+    synchronized Snapshot snapshot() {
+        int successes = count - failureCount;
+        return new Snapshot(count,
+                count == 0 ? 0 : (double) failureCount / count,
+                successes == 0 ? Double.MAX_VALUE : successLatencySum / 1e6 / successes);
+    }
+
+    record Snapshot(int samples, double errorRate, double meanLatencyMillis) {
+    }
+}
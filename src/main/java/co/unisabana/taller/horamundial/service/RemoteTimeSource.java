@@ -0,0 +1,425 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.exception.CircuitOpenException;
+import co.unisabana.taller.horamundial.exception.DeadlineExceededException;
+import co.unisabana.taller.horamundial.exception.OverloadedException;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import co.unisabana.taller.horamundial.exception.UpstreamStatusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Base de las fuentes que consultan una API externa de hora. Resuelve lo que es común a todas:
+ * una sola llamada en curso por zona, circuito, límite de concurrencia, solicitud de respaldo, tiempo máximo por intento,
+ * reintentos dentro del plazo de la solicitud ({@link Deadline}) y del presupuesto global
+ * ({@link RetryBudget}), métricas y el registro del desfase en {@link ZoneOffsetCache}. Cada API solo define
+ * cómo pedir la hora de una zona y el catálogo, y cómo leer sus respuestas.
+ */
+public abstract class RemoteTimeSource implements TimeSource {
+    private static final int MAX_ERROR_BODY = 200;
+    private static final Duration OVERLOAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    protected final WebClient webClient;
+    private final BlockingUpstream blocking;
+    private final String name;
+    private final ZoneOffsetCache offsetCache;
+    private final UpstreamProperties properties;
+    private final UpstreamMetrics metrics;
+    private final RetryBudget retryBudget;
+    private final CircuitBreaker circuitBreaker;
+    private final ConcurrencyLimiter limiter;
+    private final LatencyTracker latencies;
+    // Una sola llamada en curso por zona y para el catálogo, compartida por las solicitudes concurrentes
+    private final SingleFlight<String, TimeResponse> zoneFlights = new SingleFlight<>();
+    private final SingleFlight<String, List<String>> catalogFlight = new SingleFlight<>();
+    // Instante (System.nanoTime) de la última llamada real a la API; 0 si todavía no hubo ninguna
+    private volatile long lastCallNanos;
+
+    protected RemoteTimeSource(String name, WebClient webClient, ZoneOffsetCache offsetCache,
+                               UpstreamProperties properties, UpstreamMetrics metrics, RetryBudget retryBudget,
+                               Clock clock) {
+        this(name, webClient, BlockingUpstream.disabled(), offsetCache, properties, metrics, retryBudget, clock);
+    }
+
+    protected RemoteTimeSource(String name, WebClient webClient, BlockingUpstream blocking, ZoneOffsetCache offsetCache,
+                               UpstreamProperties properties, UpstreamMetrics metrics, RetryBudget retryBudget,
+                               Clock clock) {
+        this.name = name;
+        this.webClient = webClient;
+        this.blocking = blocking;
+        this.offsetCache = offsetCache;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.retryBudget = retryBudget;
+        this.circuitBreaker = new CircuitBreaker(name(), properties.circuitBreaker(), clock);
+        this.limiter = new ConcurrencyLimiter(name(), properties.concurrencyLimit(), clock);
+        this.latencies = new LatencyTracker(properties.hedge().percentile());
+        metrics.circuit(name(), circuitBreaker);
+        metrics.limiter(name(), limiter);
+    }
+
+    /** Una llamada a la API por la hora de la zona, ya convertida; sin reintentos ni respaldo. */
+    protected abstract Mono<UpstreamTime> requestTime(String timezone);
+
+    /** Una llamada a la API por el catálogo de zonas. */
+    protected abstract Mono<List<String>> requestZones();
+
+    /**
+     * Hora informada por la API junto con su próxima transición de horario, si la informa
+     * (nula en otro caso; la caché la deriva de la tzdb local).
+     */
+    protected record UpstreamTime(TimeResponse response, Instant nextTransition) {
+    }
+
+    @Override
+    public final String name() {
+        return name;
+    }
+
+    /**
+     * Consulta siempre la API (con una sola llamada en curso por zona). La caché de desfases la
+     * consulta quien enruta entre fuentes, para no confundir un acierto con la latencia de la API.
+     */
+    @Override
+    public Mono<TimeResponse> currentTime(String timezone) {
+        return zoneFlights.execute(timezone, () -> fetchTimeForZone(timezone));
+    }
+
+    @Override
+    public Mono<List<String>> availableZones() {
+        return catalogFlight.execute("catalog", this::fetchTimeZones);
+    }
+
+    /**
+     * Si el proveedor está habilitado en la configuración. Se consulta al ejecutar y no con
+     * {@code @ConditionalOnProperty}, que en la imagen AOT quedaría fijo al compilar.
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /** URL base de la API, de la que sale el host de sus conexiones en el pool. */
+    public String baseUrl() {
+        return properties.baseUrl();
+    }
+
+    /** Si se consultó la hora de alguna zona (sin contar catálogo ni precalentamiento) en el último {@code window}. */
+    public boolean hadTrafficWithin(Duration window) {
+        long last = lastCallNanos;
+        return last != 0 && System.nanoTime() - last <= window.toNanos();
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    /**
+     * Deja {@code connections} conexiones abiertas con la API: envía esa cantidad de HEAD a la URL
+     * base a la vez, así cada uno ocupa una conexión del pool (con HTTP/2 comparten una). No pasa
+     * por el circuito ni por el límite de concurrencia, y si falla solo queda en el log.
+     */
+    public Mono<Void> warmup(int connections) {
+        return Flux.range(0, connections)
+                // Sin cancelar las demás al primer error: en modo BLOCKING su error se perdería sin suscriptor
+                .flatMapDelayError(i -> head().timeout(properties.timeouts().request()), connections, 1)
+                .then()
+                .doOnSuccess(done -> log.debug("{} conexiones precalentadas con {}", connections, name()))
+                .doOnError(e -> log.debug("No se pudo precalentar la conexión con {}: {}", name(), e.getMessage()))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private Mono<?> head() {
+        if (blocking.isEnabled()) {
+            return blocking.call(() -> blocking.client().head()
+                    .retrieve()
+                    .onStatus(status -> true, (request, response) -> {
+                    })
+                    .toBodilessEntity());
+        }
+        return webClient.head().exchangeToMono(ClientResponse::releaseBody);
+    }
+
+    /**
+     * GET a la API con el cliente del modo de ejecución: el WebClient o, en modo BLOCKING,
+     * {@link BlockingUpstream}. Con los dos, un 4xx/5xx termina en {@link UpstreamStatusException}
+     * y un cuerpo ilegible en {@link DecodingException}.
+     */
+    protected <T> Mono<T> get(Function<UriBuilder, URI> uri, ParameterizedTypeReference<T> type, String context) {
+        if (!blocking.isEnabled()) {
+            return webClient.get()
+                    .uri(uri)
+                    .retrieve()
+                    .onStatus(status -> status.is5xxServerError() || status.is4xxClientError(),
+                            response -> handleErrorResponse(response, context))
+                    .bodyToMono(type);
+        }
+        return blocking.call(() -> blocking.client().get()
+                        .uri(uri)
+                        .retrieve()
+                        .onStatus(HttpStatusCode::isError, (request, response) -> {
+                            throw statusError(response.getStatusCode(),
+                                    new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8), context);
+                        })
+                        .body(type))
+                .onErrorMap(e -> e instanceof RestClientException
+                                && ((RestClientException) e).getMostSpecificCause() instanceof HttpMessageNotReadableException,
+                        e -> new DecodingException(e.getMessage(), e));
+    }
+
+    protected <T> Mono<T> get(Function<UriBuilder, URI> uri, Class<T> type, String context) {
+        return get(uri, ParameterizedTypeReference.forType(type), context);
+    }
+
+    CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    ConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    private Mono<List<String>> fetchTimeZones() {
+        log.debug("Obteniendo lista de zonas horarias disponibles de {}", name());
+        Mono<List<String>> call = Mono.defer(this::requestZones)
+                .transform(metrics.timed(name(), "catalog"));
+        return guarded(call, "catalog");
+    }
+
+    private Mono<TimeResponse> fetchTimeForZone(String timezone) {
+        log.debug("Obteniendo hora para la zona {} de {}", timezone, name());
+        // Se mide cada llamada HTTP por separado; los reintentos y las de respaldo se cuentan aparte
+        Mono<UpstreamTime> call = Mono.defer(() -> requestTime(timezone))
+                .transform(metrics.timed(name(), "zone"));
+
+        return Mono.deferContextual(context -> {
+            // Con una sola llamada en curso por zona manda el plazo de la primera solicitud
+            Deadline deadline = Deadline.from(context);
+            retryBudget.onRequest();
+            lastCallNanos = System.nanoTime();
+            Mono<UpstreamTime> attempt = Mono.defer(() -> hedged(call, "zone")
+                    .timeout(attemptTimeout(deadline), Mono.error(new TimeoutException("Tiempo de espera agotado"))));
+            return guarded(attempt, "zone")
+                    .doOnNext(time -> cacheOffset(timezone, time))
+                    .map(UpstreamTime::response)
+                    .retryWhen(retry(timezone, deadline));
+        });
+    }
+
+    /** Cada intento espera lo configurado, sin pasarse de lo que le queda a la solicitud. */
+    private Duration attemptTimeout(Deadline deadline) {
+        Duration timeout = properties.timeouts().request();
+        if (deadline == null) {
+            return timeout;
+        }
+        Duration remaining = deadline.remaining();
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * Reintenta con espera exponencial solo los errores transitorios, y solo si después de esperar
+     * queda plazo para un intento más y hay presupuesto global de reintentos.
+     */
+    private Retry retry(String timezone, Deadline deadline) {
+        UpstreamProperties.RetryPolicy policy = properties.retry();
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            if (!isRetryableException(failure)) {
+                return Mono.error(failure);
+            }
+            if (signal.totalRetries() >= policy.maxRetries()) {
+                log.error("Se agotaron los reintentos para {}", timezone);
+                metrics.retriesExhausted(name(), "zone");
+                return Mono.error(new TimeApiException("No se pudo obtener la hora después de varios intentos. Por favor, intente nuevamente más tarde.", failure));
+            }
+            Duration backoff = backoff(policy.backoff(), signal.totalRetries());
+            if (deadline != null && deadline.remaining().compareTo(backoff.plus(policy.minAttemptTime())) < 0) {
+                log.warn("Sin tiempo para reintentar {} en {}: {}", timezone, name(), failure.getMessage());
+                metrics.retrySkipped(name(), "zone", "deadline");
+                return Mono.error(new DeadlineExceededException("Se agotó el tiempo de la solicitud al consultar la hora de " + timezone, failure));
+            }
+            if (!retryBudget.tryAcquire()) {
+                log.warn("Sin presupuesto de reintentos para {} en {}: {}", timezone, name(), failure.getMessage());
+                metrics.retrySkipped(name(), "zone", "budget");
+                return Mono.error(new TimeApiException("No se pudo obtener la hora. Por favor, intente nuevamente más tarde.", failure));
+            }
+            log.warn("Reintentando después de error: {}", failure.getMessage() != null ? failure.getMessage() : "sin mensaje");
+            metrics.retry(name(), "zone", failure);
+            return Mono.delay(backoff);
+        }));
+    }
+
+    /** Espera exponencial con variación aleatoria de ±50% para no sincronizar los reintentos. */
+    static Duration backoff(Duration base, long retry) {
+        long nanos = base.toNanos() << Math.min(retry, 20);
+        if (nanos <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(nanos / 2, nanos + nanos / 2 + 1));
+    }
+
+    /**
+     * Aplica el circuito y el límite de concurrencia a un intento: si el circuito está abierto o no
+     * hay permiso se falla de inmediato sin llamar a la API, y el resultado de cada intento permitido
+     * alimenta la tasa de fallas y el límite. Un intento con solicitud de respaldo usa un solo permiso.
+     */
+    private <T> Mono<T> guarded(Mono<T> attempt, String operation) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                metrics.circuitRejected(name(), operation);
+                return Mono.error(new CircuitOpenException(
+                        "La API de hora no está disponible temporalmente. Por favor, intente nuevamente más tarde."));
+            }
+            if (!limiter.tryAcquire()) {
+                circuitBreaker.onIgnored();
+                metrics.limited(name(), operation);
+                return Mono.error(new OverloadedException(
+                        "La API de hora está saturada. Por favor, intente nuevamente más tarde.", OVERLOAD_RETRY_AFTER));
+            }
+            long start = System.nanoTime();
+            AtomicBoolean done = new AtomicBoolean();
+            return attempt
+                    .doOnSuccess(value -> {
+                        if (done.compareAndSet(false, true)) {
+                            circuitBreaker.onSuccess();
+                            limiter.onSuccess(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (done.compareAndSet(false, true)) {
+                            // Un 4xx o una respuesta mal formada no indican que la API esté caída
+                            if (isUnavailable(e)) {
+                                circuitBreaker.onFailure();
+                                limiter.onDropped();
+                            } else {
+                                circuitBreaker.onSuccess();
+                                limiter.onIgnored();
+                            }
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            circuitBreaker.onIgnored();
+                            limiter.onIgnored();
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Si la llamada no responde dentro del percentil de latencia observado se envía una segunda
+     * igual y se usa la primera respuesta; la otra se cancela. Un error de la primera se propaga
+     * enseguida (lo manejan los reintentos); un error de la de respaldo se ignora.
+     */
+    private <T> Mono<T> hedged(Mono<T> call, String operation) {
+        Mono<T> measured = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(value -> latencies.record(System.nanoTime() - start));
+        });
+        if (!properties.hedge().enabled()) {
+            return measured;
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean fired = new AtomicBoolean();
+            Mono<T> backup = Mono.delay(hedgeDelay())
+                    .doOnNext(tick -> fired.set(true))
+                    .then(measured)
+                    .doOnSuccess(value -> metrics.hedge(name(), operation, true))
+                    .doOnError(e -> metrics.hedge(name(), operation, false))
+                    .doOnCancel(() -> {
+                        // Si se canceló antes de dispararse no cuenta
+                        if (fired.get()) {
+                            metrics.hedge(name(), operation, false);
+                        }
+                    })
+                    .onErrorResume(e -> Mono.never());
+            return Mono.firstWithSignal(measured, backup);
+        });
+    }
+
+    private Duration hedgeDelay() {
+        UpstreamProperties.Hedge hedge = properties.hedge();
+        long percentile = latencies.percentileNanos();
+        if (percentile < 0 || latencies.count() < hedge.minSamples()) {
+            return hedge.maxDelay();
+        }
+        Duration delay = Duration.ofNanos(percentile);
+        if (delay.compareTo(hedge.minDelay()) < 0) {
+            return hedge.minDelay();
+        }
+        return delay.compareTo(hedge.maxDelay()) > 0 ? hedge.maxDelay() : delay;
+    }
+
+    /** Timeouts, errores de conexión y 5xx: la API no está respondiendo bien. */
+    static boolean isUnavailable(Throwable e) {
+        String outcome = UpstreamMetrics.outcome(e);
+        return outcome.equals("timeout") || outcome.equals("connection_error") || outcome.equals("server_error");
+    }
+
+    protected Mono<? extends Throwable> handleErrorResponse(ClientResponse response, String context) {
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> statusError(response.statusCode(), body, context));
+    }
+
+    private UpstreamStatusException statusError(HttpStatusCode status, String body, String context) {
+        // El cuerpo puede ser una página HTML completa: solo el comienzo
+        String excerpt = body.length() > MAX_ERROR_BODY ? body.substring(0, MAX_ERROR_BODY) + "..." : body;
+        log.warn("Error en la respuesta HTTP de {} ({}): {} {}", name(), context, status, excerpt);
+        return new UpstreamStatusException("Error " + context + ": " + status + " - " + excerpt, status.value());
+    }
+    
+    private boolean isRetryableException(Throwable throwable) {
+        // Verificar si el mensaje de error contiene texto específico de cierre prematuro
+        boolean isPrematureClose = throwable.getMessage() != null && 
+                                 (throwable.getMessage().contains("prematurely closed") ||
+                                  throwable.getMessage().contains("Connection reset"));
+                                  
+        return throwable instanceof TimeoutException ||
+               throwable instanceof HttpTimeoutException ||
+               throwable instanceof ConnectException ||
+               throwable instanceof SocketTimeoutException ||
+               isPrematureClose ||
+               (throwable.getCause() != null && isRetryableException(throwable.getCause()));
+    }
+
+    private void cacheOffset(String timezone, UpstreamTime time) {
+        try {
+            ZoneOffset offset = OffsetDateTime.parse(time.response().getDatetime(), TimeResponseMapper.DATE_TIME_FORMATTER).getOffset();
+            ZoneOffsetCache.OffsetWindow window = offsetCache.put(timezone, offset, time.nextTransition());
+            log.debug("Desfase {} para {} válido hasta {}", window.offset(), timezone, window.validUntil());
+        } catch (Exception e) {
+            log.warn("No se pudo guardar en caché el desfase de {}: {}", timezone, e.getMessage());
+        }
+    }
+}
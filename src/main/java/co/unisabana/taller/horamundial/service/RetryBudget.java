@@ -0,0 +1,43 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Presupuesto global de reintentos contra las APIs externas: cada consulta aporta
+ * {@code budgetRatio} de un reintento y además se reponen {@code budgetMinPerSecond} por segundo.
+ * Si la API está degradada los reintentos quedan limitados a esa fracción del tráfico en vez de
+ * multiplicarlo.
+ */
+@Component
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minPerSecond;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    public RetryBudget(UpstreamProperties properties) {
+        this.ratio = properties.retry().budgetRatio();
+        this.minPerSecond = properties.retry().budgetMinPerSecond();
+        // Alcanza para una ráfaga de unos segundos de reintentos a la tasa mínima
+        this.capacity = Math.max(10, minPerSecond * 10);
+        this.tokens = capacity;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(capacity, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + minPerSecond * (now - lastRefillNanos) / 1e9);
+        lastRefillNanos = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
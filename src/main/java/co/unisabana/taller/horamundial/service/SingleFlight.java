@@ -0,0 +1,37 @@
+package co.unisabana.taller.horamundial.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Deduplica llamadas concurrentes con la misma clave: mientras una llamada está en curso,
+ * los demás suscriptores se unen a ella y reciben el mismo resultado o el mismo error.
+ * Si todos los suscriptores cancelan, la llamada subyacente también se cancela.
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Mono<V>> self = new AtomicReference<>();
+            Mono<V> shared = Mono.defer(call)
+                    // Se libera la clave al terminar, con error o al cancelarse la última suscripción
+                    .doFinally(signal -> inFlight.remove(k, self.get()))
+                    .flux()
+                    .publish()
+                    .refCount(1)
+                    .singleOrEmpty();
+            self.set(shared);
+            return shared;
+        }));
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,218 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.SnapshotProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Guarda en disco el catálogo de zonas y los desfases en caché, y los recupera al arrancar para
+ * responder sin la API externa desde la primera solicitud.
+ *
+ * <p>Formato (big-endian): magic {@code HMSN}, versión del formato (short), largo del contenido
+ * (int), CRC32 del contenido (int) y el contenido: instante de escritura, catálogo (versión,
+ * fuente, instante de carga, zonas) y ventanas de desfase (zona, segundos de desfase, vigencia).
+ * Los textos van como short de largo + UTF-8. El archivo se lee mapeado en memoria y se escribe
+ * en un temporal que luego se renombra, así nunca queda a medio escribir.
+ */
+@Component
+public class SnapshotStore {
+    private static final Logger log = LoggerFactory.getLogger(SnapshotStore.class);
+    private static final int MAGIC = 0x484D534E;
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 4 + 4;
+
+    private final SnapshotProperties properties;
+    private final ZoneCatalog catalog;
+    private final ZoneOffsetCache offsetCache;
+    private final Clock clock;
+
+    public SnapshotStore(SnapshotProperties properties, ZoneCatalog catalog, ZoneOffsetCache offsetCache, Clock clock) {
+        this.properties = properties;
+        this.catalog = catalog;
+        this.offsetCache = offsetCache;
+        this.clock = clock;
+    }
+
+    /** Antes de ApplicationReadyEvent, para que el catálogo decida si hace falta recargarlo. */
+    @EventListener(ApplicationStartedEvent.class)
+    public void restore() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Path path = properties.path();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Contents contents = decode(buffer);
+            if (contents.catalogVersion() > 0) {
+                catalog.restore(contents.catalogVersion(), contents.zones(), contents.catalogSource(), contents.catalogLoadedAt());
+            }
+            contents.windows().forEach(offsetCache::restore);
+            log.info("Snapshot recuperado de {} (escrito {}): {} zonas, {} desfases en caché",
+                    path, contents.writtenAt(), contents.zones().size(), offsetCache.size());
+        } catch (NoSuchFileException e) {
+            log.info("No hay snapshot en {}, se arranca en frío", path);
+        } catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+            log.warn("Snapshot {} ignorado: {}", path, e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.snapshot.write-interval:PT1M}",
+            fixedDelayString = "${app.snapshot.write-interval:PT1M}")
+    public void save() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Path path = properties.path();
+        try {
+            write(path, encode());
+            log.debug("Snapshot guardado en {}", path);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el snapshot en {}: {}", path, e.getMessage());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void saveOnShutdown() {
+        save();
+    }
+
+    ByteBuffer encode() {
+        ZoneCatalog.Snapshot snapshot = catalog.current();
+        List<ZoneOffsetCache.OffsetWindow> windows = offsetCache.windows();
+        byte[] source = snapshot.source().getBytes(StandardCharsets.UTF_8);
+        int size = 8 + 8 + 2 + source.length + 8 + 4 + 4;
+        List<byte[]> zones = new ArrayList<>(snapshot.size());
+        for (String zone : snapshot.zones()) {
+            byte[] bytes = zone.getBytes(StandardCharsets.UTF_8);
+            zones.add(bytes);
+            size += 2 + bytes.length;
+        }
+        List<byte[]> windowZones = new ArrayList<>(windows.size());
+        for (ZoneOffsetCache.OffsetWindow window : windows) {
+            byte[] bytes = window.timezone().getBytes(StandardCharsets.UTF_8);
+            windowZones.add(bytes);
+            size += 2 + bytes.length + 4 + 8;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + size);
+        buffer.position(HEADER_SIZE);
+        buffer.putLong(clock.millis());
+        buffer.putLong(snapshot.version());
+        putBytes(buffer, source);
+        buffer.putLong(snapshot.loadedAt().toEpochMilli());
+        buffer.putInt(zones.size());
+        zones.forEach(bytes -> putBytes(buffer, bytes));
+        buffer.putInt(windows.size());
+        for (int i = 0; i < windows.size(); i++) {
+            putBytes(buffer, windowZones.get(i));
+            buffer.putInt(windows.get(i).offset().getTotalSeconds());
+            buffer.putLong(windows.get(i).validUntil().toEpochMilli());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), HEADER_SIZE, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, FORMAT_VERSION);
+        buffer.putInt(6, size);
+        buffer.putInt(10, (int) crc.getValue());
+        return buffer.rewind();
+    }
+
+    static Contents decode(ByteBuffer buffer) {
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("no es un snapshot de horamundial");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("versión de formato " + version + " no soportada");
+        }
+        int size = buffer.getInt();
+        int expectedCrc = buffer.getInt();
+        if (size < 0 || size != buffer.remaining()) {
+            throw new IllegalArgumentException("largo inválido");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice());
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IllegalArgumentException("CRC inválido");
+        }
+
+        Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+        long catalogVersion = buffer.getLong();
+        String catalogSource = getString(buffer);
+        Instant catalogLoadedAt = Instant.ofEpochMilli(buffer.getLong());
+        int zoneCount = buffer.getInt();
+        List<String> zones = new ArrayList<>(Math.min(zoneCount, 4096));
+        for (int i = 0; i < zoneCount; i++) {
+            zones.add(getString(buffer));
+        }
+        int windowCount = buffer.getInt();
+        List<ZoneOffsetCache.OffsetWindow> windows = new ArrayList<>(Math.min(windowCount, 4096));
+        for (int i = 0; i < windowCount; i++) {
+            String timezone = getString(buffer);
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(buffer.getInt());
+            windows.add(new ZoneOffsetCache.OffsetWindow(timezone, offset, Instant.ofEpochMilli(buffer.getLong())));
+        }
+        return new Contents(writtenAt, catalogVersion, catalogSource, catalogLoadedAt, zones, windows);
+    }
+
+    private static void write(Path path, ByteBuffer contents) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (contents.hasRemaining()) {
+                    channel.write(contents);
+                }
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    record Contents(Instant writtenAt, long catalogVersion, String catalogSource, Instant catalogLoadedAt,
+                    List<String> zones, List<ZoneOffsetCache.OffsetWindow> windows) {
+    }
+}
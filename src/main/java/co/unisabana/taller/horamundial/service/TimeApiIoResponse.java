@@ -0,0 +1,24 @@
+package co.unisabana.taller.horamundial.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Campos de la respuesta de timeapi.io (GET /TimeZone/zone) que usa el servicio; el resto se
+ * ignora al decodificar. La hora local viene sin desfase; el desfase viene aparte en segundos.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TimeApiIoResponse(
+        String timeZone,
+        String currentLocalTime,
+        Offset currentUtcOffset,
+        boolean isDayLightSavingActive,
+        DstInterval dstInterval) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Offset(int seconds) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record DstInterval(String dstStart, String dstEnd) {
+    }
+}
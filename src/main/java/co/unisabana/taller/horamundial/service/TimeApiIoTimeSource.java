@@ -0,0 +1,118 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.TimeApiIoProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Cliente de timeapi.io, proveedor alterno a worldtimeapi.org. Comparte el pool de conexiones
+ * del WebClient principal (o el cliente bloqueante en modo BLOCKING); solo cambia la URL base.
+ */
+@Component
+public class TimeApiIoTimeSource extends RemoteTimeSource {
+    private static final Logger log = LoggerFactory.getLogger(TimeApiIoTimeSource.class);
+    private static final ParameterizedTypeReference<List<String>> ZONE_LIST = new ParameterizedTypeReference<>() {};
+
+    private final boolean enabled;
+    private final String baseUrl;
+
+    @Autowired
+    public TimeApiIoTimeSource(WebClient webClient, BlockingUpstream blocking, TimeApiIoProperties timeApiIoProperties,
+                               ZoneOffsetCache offsetCache, UpstreamProperties properties, UpstreamMetrics metrics,
+                               RetryBudget retryBudget, Clock clock) {
+        super("timeapi", webClient.mutate().baseUrl(timeApiIoProperties.baseUrl()).build(),
+                blocking.withBaseUrl(timeApiIoProperties.baseUrl()), offsetCache, properties, metrics, retryBudget,
+                clock);
+        this.enabled = timeApiIoProperties.enabled();
+        this.baseUrl = timeApiIoProperties.baseUrl();
+    }
+
+    public TimeApiIoTimeSource(WebClient webClient, TimeApiIoProperties timeApiIoProperties, ZoneOffsetCache offsetCache,
+                               UpstreamProperties properties, UpstreamMetrics metrics, RetryBudget retryBudget,
+                               Clock clock) {
+        this(webClient, BlockingUpstream.disabled(), timeApiIoProperties, offsetCache, properties, metrics, retryBudget,
+                clock);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    protected Mono<List<String>> requestZones() {
+        return get(uriBuilder -> uriBuilder.path("/TimeZone/AvailableTimeZones").build(), ZONE_LIST,
+                        "al obtener la lista de zonas horarias")
+                .onErrorMap(DecodingException.class, e -> {
+                    log.error("Error al procesar la lista de zonas horarias: {}", e.getMessage());
+                    return new TimeApiException("Error al procesar la lista de zonas horarias");
+                });
+    }
+
+    @Override
+    protected Mono<UpstreamTime> requestTime(String timezone) {
+        return get(uriBuilder -> uriBuilder.path("/TimeZone/zone").queryParam("timeZone", timezone).build(),
+                        TimeApiIoResponse.class, "al obtener la hora para " + timezone)
+                .onErrorMap(DecodingException.class, e -> {
+                    log.error("Error al decodificar la respuesta JSON para {}: {}", timezone, e.getMessage());
+                    return new TimeApiException("La respuesta del servidor no es un JSON válido");
+                })
+                .flatMap(this::toUpstreamTime);
+    }
+
+    Mono<UpstreamTime> toUpstreamTime(TimeApiIoResponse body) {
+        if (body == null || body.timeZone() == null || body.currentLocalTime() == null || body.currentUtcOffset() == null) {
+            log.error("Campos faltantes en la respuesta de timeapi.io: {}", body);
+            return Mono.error(new TimeApiException("La respuesta del servidor no contiene los datos esperados"));
+        }
+        try {
+            OffsetDateTime time = LocalDateTime.parse(body.currentLocalTime())
+                    .atOffset(ZoneOffset.ofTotalSeconds(body.currentUtcOffset().seconds()));
+            String datetime = time.format(TimeResponseMapper.DATE_TIME_FORMATTER);
+            return Mono.just(new UpstreamTime(
+                    TimeResponseMapper.toTimeResponse(body.timeZone(), datetime, time.toZonedDateTime()),
+                    nextTransition(body, time.toInstant())));
+        } catch (Exception e) {
+            log.error("Error al analizar la fecha/hora '{}' de timeapi.io", body.currentLocalTime(), e);
+            return Mono.error(new TimeApiException("Formato de fecha/hora inválido recibido del servidor"));
+        }
+    }
+
+    // Con horario de verano activo la próxima transición es su fin; si no, su próximo inicio
+    private static Instant nextTransition(TimeApiIoResponse body, Instant now) {
+        if (body.dstInterval() == null) {
+            return null;
+        }
+        String next = body.isDayLightSavingActive() ? body.dstInterval().dstEnd() : body.dstInterval().dstStart();
+        if (next == null) {
+            return null;
+        }
+        try {
+            Instant transition = OffsetDateTime.parse(next).toInstant();
+            return transition.isAfter(now) ? transition : null;
+        } catch (Exception e) {
+            log.warn("Transición de horario inválida '{}': {}", next, e.getMessage());
+            return null;
+        }
+    }
+}
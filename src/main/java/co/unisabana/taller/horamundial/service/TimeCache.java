@@ -0,0 +1,15 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Caché por delante de la API externa. {@code loader} consulta la API (con la caché de desfases
+ * local de por medio); cada implementación decide cuándo usarlo.
+ */
+public interface TimeCache {
+
+    Mono<TimeResponse> currentTime(String timezone, Function<String, Mono<TimeResponse>> loader);
+}
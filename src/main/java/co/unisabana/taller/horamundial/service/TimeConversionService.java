@@ -0,0 +1,74 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.ConvertProperties;
+import co.unisabana.taller.horamundial.dto.ConversionResult;
+import co.unisabana.taller.horamundial.dto.ConvertRequest;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Convierte una lista de instantes a varias zonas horarias con la tzdb local, sin llamadas de red.
+ * La matriz se calcula por filas (un instante en todas las zonas) en paralelo y se emite en orden
+ * a medida que cada fila está lista, así que en memoria solo hay unas pocas filas a la vez.
+ * Cada fila sale ya serializada como NDJSON (un {@link ConversionResult} por línea): serializar
+ * en paralelo y escribir una fila por envío cuesta mucho menos que un envío por celda.
+ */
+@Service
+public class TimeConversionService {
+
+    private final TzdbTimeSource localSource;
+    private final ConvertProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public TimeConversionService(TzdbTimeSource localSource, ConvertProperties properties, ObjectMapper objectMapper) {
+        this.localSource = localSource;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Una fila de la matriz por elemento, con una línea JSON terminada en salto de línea por zona. */
+    public Flux<String> convert(ConvertRequest request) {
+        List<Instant> instants = request != null ? request.getInstants() : null;
+        List<String> zones = request != null ? request.getZones() : null;
+        if (instants == null || instants.isEmpty() || instants.stream().anyMatch(Objects::isNull)) {
+            throw new TimeApiException("Debe indicar al menos un instante");
+        }
+        if (zones == null || zones.isEmpty()) {
+            throw new TimeApiException("Debe indicar al menos una zona horaria");
+        }
+        if (instants.size() > properties.maxInstants()) {
+            throw new TimeApiException(String.format(
+                    "Se permiten como máximo %d instantes por solicitud", properties.maxInstants()));
+        }
+        if (zones.size() > properties.maxZones()) {
+            throw new TimeApiException(String.format(
+                    "Se permiten como máximo %d zonas horarias por solicitud", properties.maxZones()));
+        }
+        List<String> unknown = zones.stream().filter(zone -> zone == null || !localSource.supports(zone)).toList();
+        if (!unknown.isEmpty()) {
+            throw new TimeApiException("Zonas horarias desconocidas: " + unknown);
+        }
+
+        return Flux.fromIterable(instants)
+                .flatMapSequential(instant -> Mono.fromCallable(() -> row(instant, zones))
+                        .subscribeOn(Schedulers.parallel()), properties.concurrency(), 1);
+    }
+
+    private String row(Instant instant, List<String> zones) throws JsonProcessingException {
+        StringBuilder row = new StringBuilder(zones.size() * 220);
+        for (String zone : zones) {
+            row.append(objectMapper.writeValueAsString(new ConversionResult(instant, localSource.compute(zone, instant))))
+                    .append('\n');
+        }
+        return row.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Construcción de {@link TimeResponse} compartida por todas las fuentes de hora.
+ */
+public final class TimeResponseMapper {
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    public static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", new Locale("es", "ES"));
+
+    private TimeResponseMapper() {
+    }
+
+    public static TimeResponse toTimeResponse(String timezone, String datetime, ZonedDateTime zonedDateTime) {
+        // Extraer ciudad y país del timezone (formato: Area/Location)
+        String[] parts = timezone.split("/");
+        String country = parts[0];
+        String city = parts.length > 1 ? parts[1].replace("_", " ") : "";
+
+        // Determinar si es de día (entre 6 AM y 6 PM)
+        int hour = zonedDateTime.getHour();
+        boolean isDaytime = hour >= 6 && hour < 18;
+
+        return TimeResponse.builder()
+                .datetime(datetime)
+                .timezone(timezone)
+                .city(city)
+                .country(country)
+                .formattedDatetime(zonedDateTime.format(DISPLAY_FORMATTER))
+                .isDaytime(isDaytime)
+                .build();
+    }
+
+    public static TimeResponse toTimeResponse(String timezone, ZonedDateTime zonedDateTime) {
+        return toTimeResponse(timezone, zonedDateTime.format(DATE_TIME_FORMATTER), zonedDateTime);
+    }
+}
@@ -1,85 +1,179 @@
 package co.unisabana.taller.horamundial.service;
 
+import co.unisabana.taller.horamundial.config.BatchProperties;
+import co.unisabana.taller.horamundial.config.DeadlineProperties;
+import co.unisabana.taller.horamundial.config.StreamProperties;
+import co.unisabana.taller.horamundial.config.TimeSourceProperties;
+import co.unisabana.taller.horamundial.dto.BatchTimeResult;
 import co.unisabana.taller.horamundial.dto.TimeRequest;
 import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.exception.CircuitOpenException;
+import co.unisabana.taller.horamundial.exception.DeadlineExceededException;
+import co.unisabana.taller.horamundial.exception.OverloadedException;
 import co.unisabana.taller.horamundial.exception.TimeApiException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.web.reactive.function.client.ClientResponse;
-import java.util.ArrayList;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.retry.support.RetrySynchronizationManager;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import java.net.ConnectException;
-import java.net.SocketException;
 import java.net.SocketTimeoutException;
-import java.time.Duration;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
 import java.util.concurrent.TimeoutException;
 
 @Service
 public class TimeService {
     private static final Logger log = LoggerFactory.getLogger(TimeService.class);
-    private final WebClient webClient;
-    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", new Locale("es", "ES"));
+    private final TzdbTimeSource localSource;
+    private final TimeSource remoteSource;
+    private final ZoneCatalog zoneCatalog;
+    private final TimeSourceProperties properties;
+    private final BatchProperties batchProperties;
+    private final Validator validator;
+    private final ZoneTickerRegistry tickerRegistry;
+    private final StreamProperties streamProperties;
+    private final DeadlineProperties deadlineProperties;
+    private final LocationResolver locationResolver;
+    private final UpstreamMetrics metrics;
+    private final TimeCache timeCache;
 
-    public TimeService(WebClient webClient) {
-        this.webClient = webClient;
+    public TimeService(TzdbTimeSource localSource, TimeSourceRouter remoteSource, ZoneCatalog zoneCatalog,
+                       LocationResolver locationResolver, TimeSourceProperties properties, BatchProperties batchProperties, Validator validator,
+                       ZoneTickerRegistry tickerRegistry, StreamProperties streamProperties,
+                       DeadlineProperties deadlineProperties, UpstreamMetrics metrics, TimeCache timeCache) {
+        this.localSource = localSource;
+        this.remoteSource = remoteSource;
+        this.zoneCatalog = zoneCatalog;
+        this.locationResolver = locationResolver;
+        this.properties = properties;
+        this.batchProperties = batchProperties;
+        this.validator = validator;
+        this.tickerRegistry = tickerRegistry;
+        this.streamProperties = streamProperties;
+        this.deadlineProperties = deadlineProperties;
+        this.metrics = metrics;
+        this.timeCache = timeCache;
     }
 
-    @Retryable(value = { TimeoutException.class, ConnectException.class, SocketTimeoutException.class },
-              maxAttempts = 3,
-              backoff = @org.springframework.retry.annotation.Backoff(delay = 1000, multiplier = 2))
     public Mono<TimeResponse> getCurrentTime(TimeRequest request) {
+        return getCurrentTime(request, (Duration) null);
+    }
+
+    /**
+     * Igual que {@link #getCurrentTime(TimeRequest)}, con el plazo total que pide el cliente
+     * ({@code null} para el configurado). Todos los intentos contra las APIs externas caben en él.
+     */
+    public Mono<TimeResponse> getCurrentTime(TimeRequest request, Duration requestedTimeout) {
+        return Mono.defer(() -> {
+            Deadline deadline = Deadline.after(timeoutFor(requestedTimeout));
+            return withinDeadline(getCurrentTime(request, zoneCatalog.current()), deadline)
+                    .contextWrite(context -> context.put(Deadline.class, deadline));
+        });
+    }
+
+    public Flux<BatchTimeResult> getCurrentTimes(List<TimeRequest> requests) {
+        return getCurrentTimes(requests, null);
+    }
+
+    /** El plazo es del lote completo; las ubicaciones que no alcanzan a resolverse quedan con su error. */
+    public Flux<BatchTimeResult> getCurrentTimes(List<TimeRequest> requests, Duration requestedTimeout) {
+        if (requests == null || requests.isEmpty()) {
+            return Flux.error(new TimeApiException("Debe enviar al menos una ubicación"));
+        }
+        if (requests.size() > batchProperties.maxItems()) {
+            return Flux.error(new TimeApiException(String.format(
+                    "Se permiten como máximo %d ubicaciones por solicitud", batchProperties.maxItems())));
+        }
+        
+        // Todo el lote se resuelve contra el mismo snapshot del catálogo
+        ZoneCatalog.Snapshot catalog = zoneCatalog.current();
+        return Flux.defer(() -> {
+            Deadline deadline = Deadline.after(timeoutFor(requestedTimeout));
+            // Por índice y no con fromIterable, que rechaza los elementos nulos y haría fallar el lote completo
+            return Flux.range(0, requests.size())
+                    .flatMapSequential(index -> resolveBatchItem(requests.get(index), catalog, deadline),
+                            batchProperties.concurrency())
+                    .contextWrite(context -> context.put(Deadline.class, deadline));
+        });
+    }
+
+    public Flux<ZoneTickerRegistry.Tick> streamTime(List<String> timezones) {
+        if (timezones == null || timezones.isEmpty()) {
+            throw new TimeApiException("Debe indicar al menos una zona horaria");
+        }
+        List<String> zones = timezones.stream().map(String::trim).distinct().toList();
+        if (zones.size() > streamProperties.maxZones()) {
+            throw new TimeApiException(String.format(
+                    "Se permiten como máximo %d zonas horarias por conexión", streamProperties.maxZones()));
+        }
+        // El streaming solo se ofrece para zonas que se pueden calcular localmente
+        for (String zone : zones) {
+            if (!localSource.supports(zone)) {
+                throw new TimeApiException("Zona horaria desconocida: " + zone);
+            }
+        }
+        return Flux.fromIterable(zones)
+                .flatMap(tickerRegistry::ticks, zones.size())
+                .take(streamProperties.maxDuration());
+    }
+
+    private Mono<BatchTimeResult> resolveBatchItem(TimeRequest request, ZoneCatalog.Snapshot catalog, Deadline deadline) {
+        if (request == null) {
+            return Mono.just(BatchTimeResult.failure(new TimeRequest(), "La ubicación es requerida"));
+        }
+        Set<ConstraintViolation<TimeRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return Mono.just(BatchTimeResult.failure(request, violations.iterator().next().getMessage()));
+        }
+        // Un error en una ubicación no debe hacer fallar el lote completo
+        return withinDeadline(getCurrentTime(request, catalog), deadline)
+                .map(response -> BatchTimeResult.success(request, response))
+                .onErrorResume(e -> Mono.just(BatchTimeResult.failure(request, e.getMessage())));
+    }
+
+    private Mono<TimeResponse> getCurrentTime(TimeRequest request, ZoneCatalog.Snapshot catalog) {
         // Validar que los parámetros no sean nulos
         if (request == null || request.getCountry() == null || request.getCountry().trim().isEmpty()) {
             return Mono.error(new TimeApiException("El país es requerido"));
         }
         
-        String timezone = formatTimezone(request.getCountry(), 
-            request.getCity() != null ? request.getCity() : "");
-            
-        int attempt = RetrySynchronizationManager.getContext() != null ? 
-                    RetrySynchronizationManager.getContext().getRetryCount() + 1 : 1;
+        String city = request.getCity() != null ? request.getCity() : "";
+        String timezone = formatTimezone(request.getCountry(), city);
         
-        log.info("Solicitando hora para la zona horaria: {} (Intento {})", timezone, attempt);
+        log.debug("Solicitando hora para la zona horaria: {}", timezone);
         
-        // Si ya tenemos una zona horaria completa (país/ciudad), intentamos obtener la hora directamente
-        if (timezone.contains("/") && !timezone.endsWith("/")) {
+        // Si ya es una zona horaria conocida (ej: America/Bogota), obtenemos la hora directamente
+        if (catalog.contains(timezone) || localSource.supports(timezone)) {
             log.debug("Buscando hora para zona horaria específica: {}", timezone);
             return fetchTimeForZone(timezone)
-                    .onErrorResume(e -> {
+                    .onErrorResume(e -> !(e instanceof DeadlineExceededException), e -> {
                         log.warn("No se pudo obtener la hora para {}: {}", timezone, e.getMessage());
                         return Mono.error(new TimeApiException("No se pudo obtener la hora para la zona horaria especificada"));
                     });
         }
         
-        // Si solo tenemos el país, buscamos zonas horarias que coincidan
+        // Nombres de país y ciudad (con o sin tildes, en español o inglés) se resuelven en memoria
         log.debug("Buscando zonas horarias para: {}", timezone);
-        return fetchTimeZones()
-                .flatMap(zones -> {
-                    // Filtrar zonas que coincidan con el país
-                    List<String> matchingZones = new ArrayList<>();
-                    for (String zone : zones) {
-                        if (zone.startsWith(timezone)) {
-                            matchingZones.add(zone);
-                        }
+        return Mono.defer(() -> {
+                    List<String> matchingZones = locationResolver.resolve(request.getCountry(), city);
+                    if (matchingZones.isEmpty() && city.isBlank()) {
+                        // Búsqueda por rango sobre el catálogo, por si la API externa conoce zonas que la tzdb no
+                        matchingZones = catalog.withPrefix(timezone);
                     }
                     
+                    // Una ubicación que no se reconoce se rechaza aquí, sin consultar la API externa
                     if (matchingZones.isEmpty()) {
-                        log.warn("No se encontraron zonas horarias para: {}", timezone);
-                        return Mono.error(new TimeApiException("No se encontraron zonas horarias para el país especificado"));
+                        log.debug("No se encontraron zonas horarias para: {}", timezone);
+                        metrics.shortCircuited("unknown_location");
+                        return Mono.error(new TimeApiException(city.isBlank()
+                                ? "No se encontraron zonas horarias para el país especificado"
+                                : String.format("No se encontró la ubicación %s, %s", request.getCountry().trim(), city.trim())));
                     }
                     
                     // Si solo hay una zona, usarla directamente
@@ -90,97 +184,65 @@ public class TimeService {
                     }
                     
                     // Si hay múltiples zonas, devolver un error con las opciones
-                    log.warn("Múltiples zonas horarias encontradas para {}: {}", timezone, matchingZones);
+                    log.debug("Múltiples zonas horarias encontradas para {}: {}", timezone, matchingZones);
                     String message = String.format("Múltiples zonas horarias encontradas. Por favor, especifique una de: %s", 
                             String.join(", ", matchingZones));
-                    return Mono.error(new TimeApiException(message));
+                    return Mono.<TimeResponse>error(new TimeApiException(message));
                 })
                 .onErrorResume(e -> handleError(e, request));
     }
     
-    private Mono<List<String>> fetchTimeZones() {
-        log.debug("Obteniendo lista de zonas horarias disponibles");
-        
-        return webClient.get()
-                .uri("/")
-                .retrieve()
-                .onStatus(status -> status.is5xxServerError() || status.is4xxClientError(),
-                         response -> handleErrorResponse(response, "al obtener la lista de zonas horarias"))
-                .bodyToMono(String.class)
-                .flatMap(body -> {
-                    try {
-                        ObjectMapper mapper = new ObjectMapper();
-                        JsonNode rootNode = mapper.readTree(body);
-                        
-                        if (rootNode.isArray()) {
-                            List<String> zones = new ArrayList<>();
-                            rootNode.elements().forEachRemaining(node -> zones.add(node.asText()));
-                            return Mono.just(zones);
-                        } else {
-                            return Mono.error(new TimeApiException("Formato de respuesta inesperado al obtener zonas horarias"));
-                        }
-                    } catch (Exception e) {
-                        log.error("Error al procesar la lista de zonas horarias: {}", body, e);
-                        return Mono.error(new TimeApiException("Error al procesar la lista de zonas horarias"));
+    private Mono<TimeResponse> fetchTimeForZone(String timezone) {
+        // La tzdb local responde sin red; la API externa queda como respaldo para zonas que no conoce
+        if (properties.mode() == TimeSourceProperties.Mode.LOCAL && localSource.supports(timezone)) {
+            return localSource.currentTime(timezone)
+                    .onErrorResume(e -> {
+                        log.warn("Fallo el cálculo local para {}, usando {}: {}", timezone, remoteSource.name(), e.getMessage());
+                        return remoteTime(timezone);
+                    });
+        }
+        return remoteTime(timezone)
+                // Con el circuito abierto o la API saturada se responde con la tzdb local en vez de fallar
+                .onErrorResume(e -> e instanceof CircuitOpenException || e instanceof OverloadedException, e -> {
+                    if (!localSource.supports(timezone)) {
+                        return Mono.error(e);
                     }
+                    log.debug("{} no disponible ({}), hora de {} calculada localmente", remoteSource.name(), e.getMessage(), timezone);
+                    return localSource.currentTime(timezone);
                 });
     }
-    
-    private Mono<TimeResponse> fetchTimeForZone(String timezone) {
-        log.debug("Obteniendo hora para la zona: {}", timezone);
-        
-        return webClient.get()
-                .uri("/{timezone}", timezone)
-                .retrieve()
-                .onStatus(status -> status.is5xxServerError() || status.is4xxClientError(),
-                         response -> handleErrorResponse(response, "al obtener la hora para " + timezone))
-                .bodyToMono(String.class)
-                .doOnNext(body -> log.debug("Respuesta en bruto para {}: {}", timezone, body))
-                .flatMap(body -> {
-                    try {
-                        ObjectMapper mapper = new ObjectMapper();
-                        JsonNode jsonNode = mapper.readTree(body);
-                        return mapToTimeResponse(jsonNode);
-                    } catch (Exception e) {
-                        log.error("Error al parsear la respuesta JSON para {}: {}", timezone, body, e);
-                        return Mono.error(new TimeApiException("La respuesta del servidor no es un JSON válido"));
-                    }
-                })
-                .timeout(Duration.ofSeconds(10), Mono.error(new TimeoutException("Tiempo de espera agotado")))
-                .retryWhen(Retry.backoff(3, Duration.ofMillis(500))
-                        .filter(this::isRetryableException)
-                        .doBeforeRetry(retrySignal -> log.warn("Reintentando después de error: {}", 
-                                retrySignal.failure() != null ? retrySignal.failure().getMessage() : "sin mensaje"))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) -> {
-                            log.error("Se agotaron los reintentos para {}", timezone);
-                            return new TimeApiException("No se pudo obtener la hora después de varios intentos. Por favor, intente nuevamente más tarde.");
-                        }));
+
+    /** API externa a través de la caché: propia de la réplica o compartida entre réplicas (app.cache.mode). */
+    private Mono<TimeResponse> remoteTime(String timezone) {
+        return timeCache.currentTime(timezone, remoteSource::currentTime);
     }
-    
-    private Mono<? extends Throwable> handleErrorResponse(ClientResponse response, String context) {
-        log.error("Error en la respuesta HTTP ({}): {}", context, response.statusCode());
-        return response.bodyToMono(String.class)
-                .defaultIfEmpty("")
-                .flatMap(body -> {
-                    log.error("Cuerpo de la respuesta de error ({}): {}", context, body);
-                    return Mono.error(new RuntimeException("Error " + context + ": " + response.statusCode() + " - " + body));
-                });
+
+    /** Plazo de la solicitud: el que pide el cliente, sin pasar del máximo, o el configurado. */
+    private Duration timeoutFor(Duration requestedTimeout) {
+        if (requestedTimeout == null) {
+            return deadlineProperties.defaultTimeout();
+        }
+        return requestedTimeout.compareTo(deadlineProperties.maxTimeout()) > 0
+                ? deadlineProperties.maxTimeout() : requestedTimeout;
     }
-    
-    private boolean isRetryableException(Throwable throwable) {
-        // Verificar si el mensaje de error contiene texto específico de cierre prematuro
-        boolean isPrematureClose = throwable.getMessage() != null && 
-                                 (throwable.getMessage().contains("prematurely closed") ||
-                                  throwable.getMessage().contains("Connection reset"));
-                                  
-        return throwable instanceof TimeoutException ||
-               throwable instanceof ConnectException ||
-               throwable instanceof SocketTimeoutException ||
-               isPrematureClose ||
-               (throwable.getCause() != null && isRetryableException(throwable.getCause()));
+
+    private <T> Mono<T> withinDeadline(Mono<T> operation, Deadline deadline) {
+        return Mono.defer(() -> {
+            if (deadline.isExpired()) {
+                return Mono.error(new DeadlineExceededException("Se agotó el tiempo de la solicitud antes de obtener la hora"));
+            }
+            return operation.timeout(deadline.remaining(), Mono.error(() ->
+                    new DeadlineExceededException("Se agotó el tiempo de la solicitud antes de obtener la hora")));
+        });
     }
-    
+
     private Mono<TimeResponse> handleError(Throwable e, TimeRequest request) {
+        // Los errores propios ya traen un mensaje para el cliente
+        if (e instanceof TimeApiException) {
+            // Errores del cliente (ubicación desconocida, plazo agotado): ya quedan en el registro de accesos
+            log.debug("No se pudo obtener la hora para {}/{}: {}", request.getCountry(), request.getCity(), e.getMessage());
+            return Mono.error(e);
+        }
         String errorMsg = String.format("Error al obtener la hora para %s/%s: %s", 
                 request.getCountry(), request.getCity(), e.getMessage());
         log.error(errorMsg, e);
@@ -205,71 +267,7 @@ public class TimeService {
         }
     }
 
-    private Mono<TimeResponse> mapToTimeResponse(JsonNode jsonNode) {
-        try {
-            log.debug("Respuesta JSON recibida: {}", jsonNode);
-            
-            // Verificar si los campos requeridos existen
-            if (jsonNode == null) {
-                log.error("La respuesta de la API es nula");
-                return Mono.error(new TimeApiException("La respuesta del servidor está vacía o es inválida"));
-            }
-            
-            JsonNode datetimeNode = jsonNode.get("datetime");
-            JsonNode timezoneNode = jsonNode.get("timezone");
-            
-            if (datetimeNode == null || timezoneNode == null) {
-                log.error("Campos faltantes en la respuesta. Se esperaban 'datetime' y 'timezone'. Respuesta: {}", jsonNode);
-                return Mono.error(new TimeApiException("La respuesta del servidor no contiene los datos esperados"));
-            }
-            
-            String datetime = datetimeNode.asText();
-            String timezone = timezoneNode.asText();
-            
-            if (datetime == null || timezone == null) {
-                log.error("Los campos 'datetime' o 'timezone' están vacíos. Respuesta: {}", jsonNode);
-                return Mono.error(new TimeApiException("Los datos de fecha y hora recibidos son inválidos"));
-            }
-            
-            // Extraer ciudad y país del timezone (formato: Area/Location)
-            String[] parts = timezone.split("/");
-            String country = parts[0];
-            String city = parts.length > 1 ? parts[1].replace("_", " ") : "";
-            
-            // Formatear fecha y hora
-            ZonedDateTime zonedDateTime;
-            try {
-                zonedDateTime = ZonedDateTime.parse(datetime, DATE_TIME_FORMATTER);
-            } catch (Exception e) {
-                log.error("Error al analizar la fecha/hora '{}' con el formato {}", datetime, DATE_TIME_FORMATTER, e);
-                return Mono.error(new TimeApiException("Formato de fecha/hora inválido recibido del servidor"));
-            }
-            
-            String formattedDatetime = zonedDateTime.format(DISPLAY_FORMATTER);
-            
-            // Determinar si es de día (entre 6 AM y 6 PM)
-            int hour = zonedDateTime.getHour();
-            boolean isDaytime = hour >= 6 && hour < 18;
-            
-            TimeResponse response = TimeResponse.builder()
-                    .datetime(datetime)
-                    .timezone(timezone)
-                    .city(city)
-                    .country(country)
-                    .formattedDatetime(formattedDatetime)
-                    .isDaytime(isDaytime)
-                    .build();
-                    
-            log.debug("Respuesta mapeada: {}", response);
-            return Mono.just(response);
-                    
-        } catch (Exception e) {
-            log.error("Error inesperado al procesar la respuesta de la API. Respuesta: {}", jsonNode, e);
-            return Mono.error(new TimeApiException("Error al procesar la respuesta del servidor: " + e.getMessage()));
-        }
-    }
-
-    private String formatTimezone(String country, String city) {
+    static String formatTimezone(String country, String city) {
         // Formatear el país y la ciudad para la API (ej: America/New_York)
         return String.format("%s/%s", 
                 country.trim().replace(" ", "_"), 
@@ -0,0 +1,18 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Fuente de la hora actual para una zona horaria IANA (ej: America/Bogota).
+ */
+public interface TimeSource {
+
+    String name();
+
+    Mono<TimeResponse> currentTime(String timezone);
+
+    Mono<List<String>> availableZones();
+}
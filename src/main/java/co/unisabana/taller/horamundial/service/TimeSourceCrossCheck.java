@@ -0,0 +1,61 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.TimeSourceProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Compara periódicamente la hora calculada con la tzdb local contra cada API externa
+ * para detectar una tzdb desactualizada en la JVM (o un proveedor que responde mal).
+ * Con {@code app.time-source.cross-check.enabled=false} la tarea programada no hace nada; no se
+ * usa {@code @ConditionalOnProperty} porque en la imagen AOT quedaría fijo al compilar.
+ */
+@Component
+public class TimeSourceCrossCheck {
+    private static final Logger log = LoggerFactory.getLogger(TimeSourceCrossCheck.class);
+
+    private final TzdbTimeSource local;
+    private final List<RemoteTimeSource> remotes;
+    private final TimeSourceProperties.CrossCheck properties;
+
+    public TimeSourceCrossCheck(TzdbTimeSource local, List<RemoteTimeSource> remotes, TimeSourceProperties properties) {
+        this.local = local;
+        this.remotes = remotes.stream().filter(RemoteTimeSource::isEnabled).toList();
+        this.properties = properties.crossCheck();
+    }
+
+    @Scheduled(initialDelayString = "PT30S", fixedDelayString = "${app.time-source.cross-check.interval:PT1H}")
+    public void crossCheck() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Flux.fromIterable(remotes)
+                .flatMap(remote -> Flux.fromIterable(properties.zones())
+                        .filter(local::supports)
+                        .flatMap(zone -> remote.currentTime(zone)
+                                .doOnNext(remoteTime -> compare(remote.name(), zone, OffsetDateTime.parse(remoteTime.getDatetime())))
+                                .onErrorResume(e -> {
+                                    log.warn("No se pudo verificar la zona {} contra {}: {}", zone, remote.name(), e.getMessage());
+                                    return Mono.empty();
+                                })))
+                .blockLast();
+    }
+
+    private void compare(String source, String zone, OffsetDateTime remoteTime) {
+        OffsetDateTime localTime = OffsetDateTime.parse(local.compute(zone).getDatetime());
+        Duration drift = Duration.between(remoteTime, localTime).abs();
+        if (!localTime.getOffset().equals(remoteTime.getOffset()) || drift.compareTo(properties.tolerance()) > 0) {
+            log.warn("Diferencia entre tzdb local y {} para {}: local={}, externa={}", source, zone, localTime, remoteTime);
+        } else {
+            log.debug("tzdb local coincide con {} para {} (diferencia {} ms)", source, zone, drift.toMillis());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.TimeSourceProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.exception.CircuitOpenException;
+import co.unisabana.taller.horamundial.exception.DeadlineExceededException;
+import co.unisabana.taller.horamundial.exception.OverloadedException;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import co.unisabana.taller.horamundial.exception.UpstreamStatusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Reparte las consultas entre las APIs externas configuradas. Cada solicitud va primero al
+ * proveedor más sano y rápido según sus últimas llamadas; si falla, se prueba el siguiente.
+ * Orden: proveedores sin datos suficientes (para conocerlos), sanos por latencia promedio,
+ * con muchos errores por tasa de errores y, al final, los de circuito abierto.
+ * Es también la puerta de salida a la red: una zona con formato inválido o que un proveedor ya
+ * informó como inexistente se rechaza sin consultar a nadie.
+ */
+@Component
+public class TimeSourceRouter implements TimeSource {
+    private static final Logger log = LoggerFactory.getLogger(TimeSourceRouter.class);
+    // Formato de los identificadores de la tzdb: America/Bogota, America/Argentina/Buenos_Aires, EST5EDT
+    private static final Pattern ZONE_ID = Pattern.compile("[A-Za-z][A-Za-z0-9_+-]*(/[A-Za-z0-9_+-]+){0,2}");
+    private static final int MAX_ZONE_LENGTH = 64;
+
+    private final List<Route> routes;
+    private final ZoneOffsetCache offsetCache;
+    private final UnknownZoneCache unknownZones;
+    private final TimeSourceProperties.Routing properties;
+    private final UpstreamMetrics metrics;
+
+    public TimeSourceRouter(List<RemoteTimeSource> sources, ZoneOffsetCache offsetCache, UnknownZoneCache unknownZones,
+                            TimeSourceProperties properties, UpstreamMetrics metrics) {
+        this.offsetCache = offsetCache;
+        this.unknownZones = unknownZones;
+        this.properties = properties.routing();
+        this.metrics = metrics;
+        Map<String, RemoteTimeSource> byName = sources.stream()
+                .filter(RemoteTimeSource::isEnabled)
+                .collect(Collectors.toMap(TimeSource::name, Function.identity()));
+        List<Route> configured = new ArrayList<>();
+        for (String name : this.properties.providers()) {
+            RemoteTimeSource source = byName.get(name);
+            if (source == null) {
+                log.warn("Proveedor de hora '{}' configurado pero no disponible; disponibles: {}", name, byName.keySet());
+                continue;
+            }
+            configured.add(new Route(source, new ProviderStats(this.properties.window())));
+        }
+        if (configured.isEmpty()) {
+            throw new IllegalStateException("No hay proveedores de hora externos habilitados en app.time-source.routing.providers");
+        }
+        this.routes = List.copyOf(configured);
+    }
+
+    @Override
+    public String name() {
+        return routes.size() == 1 ? routes.get(0).source().name() : "router";
+    }
+
+    @Override
+    public Mono<TimeResponse> currentTime(String timezone) {
+        // Mientras no haya cambio de horario el desfase anterior sigue siendo válido
+        TimeResponse cached = offsetCache.currentTime(timezone);
+        if (cached != null) {
+            log.debug("Hora para {} calculada con el desfase en caché", timezone);
+            return Mono.just(cached);
+        }
+        if (timezone == null || timezone.length() > MAX_ZONE_LENGTH || !ZONE_ID.matcher(timezone).matches()) {
+            metrics.shortCircuited("malformed");
+            return Mono.error(new TimeApiException("Zona horaria inválida: " + timezone));
+        }
+        if (unknownZones.contains(timezone)) {
+            log.debug("{} está en la caché de zonas desconocidas, no se consulta la API externa", timezone);
+            metrics.shortCircuited("negative_cache");
+            return Mono.error(new TimeApiException("Zona horaria desconocida: " + timezone));
+        }
+        return Mono.defer(() -> currentTime(timezone, ranked(), 0))
+                .doOnError(e -> {
+                    if (isUnknownZone(e)) {
+                        log.info("La API externa no reconoce la zona {}; se recuerda por {}", timezone, unknownZones.ttl());
+                        unknownZones.put(timezone);
+                    }
+                });
+    }
+
+    /** Proveedores configurados, en el orden de app.time-source.routing.providers. */
+    public List<RemoteTimeSource> sources() {
+        return routes.stream().map(Route::source).toList();
+    }
+
+    @Override
+    public Mono<List<String>> availableZones() {
+        return Mono.defer(() -> availableZones(ranked(), 0));
+    }
+
+    private Mono<TimeResponse> currentTime(String timezone, List<Route> order, int index) {
+        Route route = order.get(index);
+        metrics.routed(route.source().name());
+        long start = System.nanoTime();
+        return route.source().currentTime(timezone)
+                .doOnSuccess(response -> route.stats().record(System.nanoTime() - start, false))
+                .doOnError(e -> {
+                    // Un rechazo por circuito abierto o por límite no dice nada nuevo de la latencia del proveedor
+                    if (!isRejected(e)) {
+                        route.stats().record(System.nanoTime() - start, RemoteTimeSource.isUnavailable(e));
+                    }
+                })
+                // Si se agotó el plazo de la solicitud no tiene sentido probar otro proveedor
+                .onErrorResume(e -> index + 1 < order.size() && !(e instanceof DeadlineExceededException), e -> {
+                    if (!isRejected(e)) {
+                        log.warn("{} falló para {} ({}), probando {}", route.source().name(), timezone, e.getMessage(),
+                                order.get(index + 1).source().name());
+                    }
+                    metrics.failover(route.source().name());
+                    return currentTime(timezone, order, index + 1);
+                });
+    }
+
+    private Mono<List<String>> availableZones(List<Route> order, int index) {
+        Route route = order.get(index);
+        return route.source().availableZones()
+                .onErrorResume(e -> index + 1 < order.size(), e -> {
+                    log.warn("{} no entregó el catálogo de zonas ({}), probando {}", route.source().name(), e.getMessage(),
+                            order.get(index + 1).source().name());
+                    return availableZones(order, index + 1);
+                });
+    }
+
+    /** Rechazada sin llamar a la API: circuito abierto o límite de concurrencia alcanzado. */
+    private static boolean isRejected(Throwable e) {
+        return e instanceof CircuitOpenException || e instanceof OverloadedException;
+    }
+
+    /** 400 o 404 del último proveedor consultado: la zona no existe para la API. */
+    private static boolean isUnknownZone(Throwable throwable) {
+        for (Throwable e = throwable; e != null; e = e.getCause()) {
+            if (e instanceof UpstreamStatusException status) {
+                return status.getStatusCode() == 400 || status.getStatusCode() == 404;
+            }
+            if (e.getCause() == e) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    List<Route> ranked() {
+        if (routes.size() == 1) {
+            return routes;
+        }
+        List<Ranked> ranked = new ArrayList<>(routes.size());
+        for (Route route : routes) {
+            ranked.add(new Ranked(route, tier(route), route.stats().snapshot()));
+        }
+        // Orden estable: sin datos se respeta el orden configurado
+        ranked.sort(Comparator.comparingInt(Ranked::tier)
+                .thenComparingDouble(r -> r.tier() == Tier.UNHEALTHY.ordinal() ? r.stats().errorRate() : r.stats().meanLatencyMillis()));
+        List<Route> order = new ArrayList<>(ranked.size());
+        ranked.forEach(r -> order.add(r.route()));
+        // Una pequeña fracción va al segundo para que sus datos no envejezcan
+        if (ranked.get(1).tier() < Tier.OPEN.ordinal() && ThreadLocalRandom.current().nextDouble() < properties.exploreRatio()) {
+            Collections.swap(order, 0, 1);
+        }
+        return order;
+    }
+
+    private int tier(Route route) {
+        if (route.source().circuitState() == CircuitBreaker.State.OPEN) {
+            return Tier.OPEN.ordinal();
+        }
+        ProviderStats.Snapshot stats = route.stats().snapshot();
+        if (stats.samples() < properties.minSamples()) {
+            return Tier.LEARNING.ordinal();
+        }
+        return stats.errorRate() > properties.maxErrorRate() ? Tier.UNHEALTHY.ordinal() : Tier.HEALTHY.ordinal();
+    }
+
+    private enum Tier {
+        LEARNING, HEALTHY, UNHEALTHY, OPEN
+    }
+
+    record Route(RemoteTimeSource source, ProviderStats stats) {
+    }
+
+    private record Ranked(Route route, int tier, ProviderStats.Snapshot stats) {
+    }
+}
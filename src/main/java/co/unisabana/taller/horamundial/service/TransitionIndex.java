@@ -0,0 +1,207 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.TransitionProperties;
+import co.unisabana.taller.horamundial.dto.TransitionResponse;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Índice de las transiciones de horario (cambios de desfase) de todas las zonas de la tzdb en una
+ * ventana alrededor del momento actual. Se calcula una vez al iniciar con {@link ZoneRules} y luego
+ * solo se agregan las transiciones nuevas al correr la ventana. Las consultas por rango son una
+ * búsqueda binaria sobre todas las transiciones ordenadas, sin recorrer zona por zona.
+ */
+@Component
+public class TransitionIndex {
+    private static final Logger log = LoggerFactory.getLogger(TransitionIndex.class);
+    private static final Comparator<Transition> BY_INSTANT =
+            Comparator.comparing(Transition::instant).thenComparing(Transition::timezone);
+
+    private final Set<String> zones;
+    private final TransitionProperties properties;
+    private final Clock clock;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    public TransitionIndex(TzdbTimeSource localSource, TransitionProperties properties, Clock clock) {
+        this.zones = Set.copyOf(localSource.availableZones().block());
+        this.properties = properties;
+        this.clock = clock;
+        Instant now = clock.instant();
+        Snapshot snapshot = Snapshot.of(now.minus(properties.lookBehind()), now.plus(properties.horizon()),
+                transitions(zones, now.minus(properties.lookBehind()).minusNanos(1), now.plus(properties.horizon())));
+        current.set(snapshot);
+        log.info("Índice de transiciones listo: {} transiciones de {} zonas hasta {}",
+                snapshot.all().length, zones.size(), snapshot.to());
+    }
+
+    /** Corre la ventana: descarta las transiciones viejas y agrega solo las que entraron al horizonte. */
+    @Scheduled(fixedDelayString = "${app.transitions.refresh-interval:PT6H}")
+    public void advance() {
+        Instant now = clock.instant();
+        Snapshot previous = current.get();
+        Instant from = now.minus(properties.lookBehind());
+        Instant to = now.plus(properties.horizon());
+        if (!to.isAfter(previous.to())) {
+            return;
+        }
+        List<Transition> added = transitions(zones, previous.to(), to);
+        List<Transition> kept = previous.between(from, previous.to());
+        List<Transition> all = new ArrayList<>(kept.size() + added.size());
+        all.addAll(kept);
+        all.addAll(added);
+        current.set(Snapshot.of(from, to, all));
+        log.debug("Índice de transiciones extendido hasta {}: {} nuevas", to, added.size());
+    }
+
+    /**
+     * Transiciones de las zonas indicadas (todas si no se indica ninguna) desde ahora y durante
+     * {@code within}, ordenadas por instante.
+     */
+    public List<Transition> upcoming(Duration within, Collection<String> timezones) {
+        if (within.isNegative() || within.isZero() || within.compareTo(properties.horizon()) > 0) {
+            throw new TimeApiException(String.format(
+                    "El rango debe estar entre 1 y %d días", properties.horizon().toDays()));
+        }
+        Snapshot snapshot = current.get();
+        Instant now = clock.instant();
+        Instant until = now.plus(within);
+        if (timezones == null || timezones.isEmpty()) {
+            return snapshot.between(now, until);
+        }
+        List<Transition> result = new ArrayList<>();
+        for (String timezone : timezones.stream().distinct().toList()) {
+            Transition[] zoneTransitions = snapshot.byZone().get(timezone);
+            if (zoneTransitions == null) {
+                if (!zones.contains(timezone)) {
+                    throw new TimeApiException("Zona horaria desconocida: " + timezone);
+                }
+                // Zona sin cambios de horario
+                continue;
+            }
+            result.addAll(range(zoneTransitions, now, until));
+        }
+        result.sort(BY_INSTANT);
+        return result;
+    }
+
+    /**
+     * Instante de la próxima transición de la zona después de {@code after}. Si no hay ninguna en
+     * el índice, el desfase se mantiene al menos hasta el final de la ventana. Nulo si la zona o el
+     * instante quedan fuera del índice.
+     */
+    public Instant nextTransition(String timezone, Instant after) {
+        Snapshot snapshot = current.get();
+        if (after.isBefore(snapshot.from()) || !after.isBefore(snapshot.to()) || !zones.contains(timezone)) {
+            return null;
+        }
+        Transition[] zoneTransitions = snapshot.byZone().get(timezone);
+        if (zoneTransitions != null) {
+            int index = upperBound(zoneTransitions, after);
+            if (index < zoneTransitions.length) {
+                return zoneTransitions[index].instant();
+            }
+        }
+        return snapshot.to();
+    }
+
+    /** Transiciones en (from, to] de cada zona. */
+    private static List<Transition> transitions(Collection<String> zones, Instant from, Instant to) {
+        List<Transition> result = new ArrayList<>();
+        for (String zone : zones) {
+            ZoneRules rules = ZoneId.of(zone).getRules();
+            ZoneOffsetTransition transition = rules.nextTransition(from);
+            while (transition != null && !transition.getInstant().isAfter(to)) {
+                result.add(new Transition(zone, transition));
+                transition = rules.nextTransition(transition.getInstant());
+            }
+        }
+        return result;
+    }
+
+    /** Transiciones con instante en [from, to). */
+    private static List<Transition> range(Transition[] sorted, Instant from, Instant to) {
+        return Arrays.asList(sorted).subList(lowerBound(sorted, from), lowerBound(sorted, to));
+    }
+
+    private static int lowerBound(Transition[] sorted, Instant key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].instant().isBefore(key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(Transition[] sorted, Instant key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (!sorted[mid].instant().isAfter(key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public record Transition(String timezone, ZoneOffsetTransition transition) {
+
+        public Instant instant() {
+            return transition.getInstant();
+        }
+
+        public TransitionResponse toResponse() {
+            return new TransitionResponse(timezone, instant(),
+                    transition.getOffsetBefore().getId(), transition.getOffsetAfter().getId(),
+                    transition.getDateTimeBefore().format(TimeResponseMapper.DISPLAY_FORMATTER),
+                    transition.getDateTimeAfter().format(TimeResponseMapper.DISPLAY_FORMATTER),
+                    transition.isGap() ? "GAP" : "OVERLAP");
+        }
+    }
+
+    /** Ventana inmutable: todas las transiciones ordenadas por instante y, aparte, las de cada zona. */
+    private record Snapshot(Instant from, Instant to, Transition[] all, Map<String, Transition[]> byZone) {
+
+        static Snapshot of(Instant from, Instant to, List<Transition> transitions) {
+            Transition[] all = transitions.toArray(Transition[]::new);
+            Arrays.sort(all, BY_INSTANT);
+            Map<String, List<Transition>> grouped = new HashMap<>();
+            for (Transition transition : all) {
+                grouped.computeIfAbsent(transition.timezone(), zone -> new ArrayList<>()).add(transition);
+            }
+            Map<String, Transition[]> byZone = new HashMap<>(grouped.size() * 2);
+            grouped.forEach((zone, list) -> byZone.put(zone, list.toArray(Transition[]::new)));
+            return new Snapshot(from, to, all, Map.copyOf(byZone));
+        }
+
+        List<Transition> between(Instant from, Instant to) {
+            return range(all, from, to);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Calcula la hora localmente con la base tzdb incluida en la JVM, sin llamadas de red.
+ */
+@Component
+public class TzdbTimeSource implements TimeSource {
+    // Zonas con formato Area/Location, igual que las que expone la API externa
+    private static final List<String> REGION_ZONES = ZoneId.getAvailableZoneIds().stream()
+            .filter(zone -> zone.contains("/") && !zone.startsWith("Etc/") && !zone.startsWith("SystemV/"))
+            .sorted()
+            .toList();
+    private static final Set<String> KNOWN_ZONES = Set.copyOf(ZoneId.getAvailableZoneIds());
+
+    private final Clock clock;
+
+    public TzdbTimeSource(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String name() {
+        return "tzdb";
+    }
+
+    public boolean supports(String timezone) {
+        return KNOWN_ZONES.contains(timezone);
+    }
+
+    public TimeResponse compute(String timezone) {
+        if (!supports(timezone)) {
+            throw new TimeApiException("Zona horaria desconocida: " + timezone);
+        }
+        ZonedDateTime now = ZonedDateTime.now(clock.withZone(ZoneId.of(timezone)));
+        return TimeResponseMapper.toTimeResponse(timezone, now);
+    }
+
+    /** Hora de la zona en un instante dado, con el mismo formato que la hora actual. */
+    public TimeResponse compute(String timezone, Instant instant) {
+        if (!supports(timezone)) {
+            throw new TimeApiException("Zona horaria desconocida: " + timezone);
+        }
+        return TimeResponseMapper.toTimeResponse(timezone, instant.atZone(ZoneId.of(timezone)));
+    }
+
+    @Override
+    public Mono<TimeResponse> currentTime(String timezone) {
+        return Mono.fromCallable(() -> compute(timezone));
+    }
+
+    @Override
+    public Mono<List<String>> availableZones() {
+        return Mono.just(REGION_ZONES);
+    }
+}
@@ -0,0 +1,67 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.NegativeCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché negativa: zonas que la API externa informó como inexistentes. Mientras dure la vigencia
+ * se rechazan sin volver a consultarla, para que un cliente insistiendo con una zona mal escrita
+ * no consuma la cuota de la API.
+ */
+@Component
+public class UnknownZoneCache {
+
+    private final NegativeCacheProperties properties;
+    private final Clock clock;
+    private final Map<String, Instant> entries;
+
+    public UnknownZoneCache(NegativeCacheProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        // LinkedHashMap en orden de acceso como LRU acotado
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Instant> eldest) {
+                return size() > properties.maxEntries();
+            }
+        };
+    }
+
+    public boolean contains(String timezone) {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            Instant expiresAt = entries.get(timezone);
+            if (expiresAt == null) {
+                return false;
+            }
+            if (!now.isBefore(expiresAt)) {
+                entries.remove(timezone);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    public void put(String timezone) {
+        Instant expiresAt = clock.instant().plus(properties.ttl());
+        synchronized (entries) {
+            entries.put(timezone, expiresAt);
+        }
+    }
+
+    public Duration ttl() {
+        return properties.ttl();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import co.unisabana.taller.horamundial.exception.UpstreamStatusException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.PrematureCloseException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Métricas de las llamadas a las APIs externas. Las etiquetas son de baja cardinalidad:
+ * fuente, operación ({@code zone} o {@code catalog}) y resultado; nunca la zona solicitada.
+ */
+@Component
+public class UpstreamMetrics {
+    static final String REQUESTS = "horamundial.upstream.requests";
+    static final String RETRIES = "horamundial.upstream.retries";
+    static final String RETRIES_EXHAUSTED = "horamundial.upstream.retries.exhausted";
+    static final String RETRIES_SKIPPED = "horamundial.upstream.retries.skipped";
+    static final String HEDGES = "horamundial.upstream.hedges";
+    static final String CIRCUIT_STATE = "horamundial.upstream.circuit.state";
+    static final String CIRCUIT_REJECTED = "horamundial.upstream.circuit.rejected";
+    static final String CONCURRENCY_LIMIT = "horamundial.upstream.concurrency.limit";
+    static final String CONCURRENCY_IN_FLIGHT = "horamundial.upstream.concurrency.in.flight";
+    static final String LIMITED = "horamundial.upstream.limited";
+    static final String SHORT_CIRCUITED = "horamundial.upstream.short.circuited";
+    static final String ROUTED = "horamundial.router.requests";
+    static final String FAILOVERS = "horamundial.router.failovers";
+    static final String PEER_LOOKUPS = "horamundial.cache.peer.lookups";
+
+    private final MeterRegistry registry;
+
+    public UpstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Mide cada suscripción (cada intento, si se aplica antes de los reintentos) y la etiqueta
+     * con su resultado.
+     */
+    public <T> Function<Mono<T>, Mono<T>> timed(String source, String operation) {
+        return mono -> Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            // Una cancelación puede llegar después del error del mismo intento; se registra solo la primera señal
+            AtomicBoolean stopped = new AtomicBoolean();
+            Consumer<String> stop = outcome -> {
+                if (stopped.compareAndSet(false, true)) {
+                    stop(sample, source, operation, outcome);
+                }
+            };
+            return mono
+                    .doOnSuccess(value -> stop.accept("success"))
+                    .doOnError(e -> stop.accept(outcome(e)))
+                    .doOnCancel(() -> stop.accept("cancelled"));
+        });
+    }
+
+    public void retry(String source, String operation, Throwable cause) {
+        Counter.builder(RETRIES)
+                .description("Reintentos de llamadas a la API externa")
+                .tag("source", source)
+                .tag("operation", operation)
+                .tag("outcome", outcome(cause))
+                .register(registry)
+                .increment();
+    }
+
+    public void retriesExhausted(String source, String operation) {
+        Counter.builder(RETRIES_EXHAUSTED)
+                .description("Llamadas a la API externa que fallaron después de agotar los reintentos")
+                .tag("source", source)
+                .tag("operation", operation)
+                .register(registry)
+                .increment();
+    }
+
+    /** Reintento descartado por falta de plazo ({@code deadline}) o de presupuesto ({@code budget}). */
+    public void retrySkipped(String source, String operation, String reason) {
+        Counter.builder(RETRIES_SKIPPED)
+                .description("Reintentos a la API externa que no se hicieron por falta de plazo o de presupuesto")
+                .tag("source", source)
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /** Solicitud de respaldo terminada; {@code won} indica si su respuesta fue la que se usó. */
+    public void hedge(String source, String operation, boolean won) {
+        Counter.builder(HEDGES)
+                .description("Solicitudes de respaldo enviadas a la API externa por demora de la primera")
+                .tag("source", source)
+                .tag("operation", operation)
+                .tag("result", won ? "won" : "lost")
+                .register(registry)
+                .increment();
+    }
+
+    public void circuit(String source, CircuitBreaker breaker) {
+        // 0 cerrado, 1 abierto, 2 semiabierto
+        Gauge.builder(CIRCUIT_STATE, breaker, b -> b.state().ordinal())
+                .description("Estado del circuito de la API externa (0 cerrado, 1 abierto, 2 semiabierto)")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    public void circuitRejected(String source, String operation) {
+        Counter.builder(CIRCUIT_REJECTED)
+                .description("Llamadas a la API externa rechazadas por circuito abierto")
+                .tag("source", source)
+                .tag("operation", operation)
+                .register(registry)
+                .increment();
+    }
+
+    public void limiter(String source, ConcurrencyLimiter limiter) {
+        Gauge.builder(CONCURRENCY_LIMIT, limiter, ConcurrencyLimiter::limit)
+                .description("Límite adaptativo de llamadas simultáneas a la API externa")
+                .tag("source", source)
+                .register(registry);
+        Gauge.builder(CONCURRENCY_IN_FLIGHT, limiter, ConcurrencyLimiter::inFlight)
+                .description("Llamadas en curso a la API externa")
+                .tag("source", source)
+                .register(registry);
+    }
+
+    public void limited(String source, String operation) {
+        Counter.builder(LIMITED)
+                .description("Llamadas a la API externa rechazadas por el límite de concurrencia")
+                .tag("source", source)
+                .tag("operation", operation)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Consulta resuelta sin llamar a la API externa: zona con formato inválido ({@code malformed}),
+     * ubicación que no existe en el catálogo local ({@code unknown_location}) o zona que la API ya
+     * rechazó ({@code negative_cache}).
+     */
+    public void shortCircuited(String reason) {
+        Counter.builder(SHORT_CIRCUITED)
+                .description("Consultas rechazadas localmente que no llegaron a la API externa")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    public void routed(String source) {
+        Counter.builder(ROUTED)
+                .description("Consultas enviadas a cada proveedor por el enrutador")
+                .tag("source", source)
+                .register(registry)
+                .increment();
+    }
+
+    public void failover(String source) {
+        Counter.builder(FAILOVERS)
+                .description("Consultas que fallaron en un proveedor y se reintentaron con el siguiente")
+                .tag("source", source)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Consultas en modo de caché compartida por resultado: {@code owner} (esta réplica es la dueña),
+     * {@code hit} (desfase ya en caché), {@code peer} (respondió la dueña) o {@code fallback}.
+     */
+    public void peerLookup(String outcome) {
+        Counter.builder(PEER_LOOKUPS)
+                .description("Consultas de la caché compartida entre réplicas")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    private void stop(Timer.Sample sample, String source, String operation, String outcome) {
+        sample.stop(Timer.builder(REQUESTS)
+                .description("Latencia de cada intento de llamada a la API externa")
+                .tag("source", source)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry));
+    }
+
+    static String outcome(Throwable throwable) {
+        for (Throwable e = throwable; e != null; e = e.getCause()) {
+            if (e instanceof UpstreamStatusException status) {
+                return status.getStatusCode() >= 500 ? "server_error" : "client_error";
+            }
+            if (e instanceof TimeoutException || e instanceof SocketTimeoutException || e instanceof HttpTimeoutException
+                    || e instanceof io.netty.handler.timeout.TimeoutException) {
+                return "timeout";
+            }
+            if (e instanceof ConnectException || e instanceof PrematureCloseException
+                    || (e.getMessage() != null && e.getMessage().contains("Connection reset"))) {
+                return "connection_error";
+            }
+            // Si envuelve otra causa (por ejemplo, reintentos agotados) se clasifica por ella
+            if (e instanceof TimeApiException && e.getCause() == null) {
+                return "invalid_response";
+            }
+            if (e.getCause() == e) {
+                break;
+            }
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,15 @@
+package co.unisabana.taller.horamundial.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Campos de la respuesta de worldtimeapi.org que usa el servicio; el resto se ignora al decodificar.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record WorldTimeApiResponse(
+        String datetime,
+        String timezone,
+        @JsonProperty("utc_offset") String utcOffset,
+        @JsonProperty("dst_until") String dstUntil) {
+}
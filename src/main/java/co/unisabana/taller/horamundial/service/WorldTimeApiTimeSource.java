@@ -0,0 +1,112 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * Cliente de worldtimeapi.org.
+ */
+@Component
+public class WorldTimeApiTimeSource extends RemoteTimeSource {
+    private static final Logger log = LoggerFactory.getLogger(WorldTimeApiTimeSource.class);
+    private static final ParameterizedTypeReference<List<String>> ZONE_LIST = new ParameterizedTypeReference<>() {};
+
+    @Autowired
+    public WorldTimeApiTimeSource(WebClient webClient, BlockingUpstream blocking, ZoneOffsetCache offsetCache,
+                                  UpstreamProperties properties, UpstreamMetrics metrics, RetryBudget retryBudget,
+                                  Clock clock) {
+        super("worldtimeapi", webClient, blocking, offsetCache, properties, metrics, retryBudget, clock);
+    }
+
+    public WorldTimeApiTimeSource(WebClient webClient, ZoneOffsetCache offsetCache, UpstreamProperties properties,
+                                  UpstreamMetrics metrics, RetryBudget retryBudget, Clock clock) {
+        this(webClient, BlockingUpstream.disabled(), offsetCache, properties, metrics, retryBudget, clock);
+    }
+
+    @Override
+    protected Mono<List<String>> requestZones() {
+        return get(uriBuilder -> uriBuilder.path("/").build(), ZONE_LIST, "al obtener la lista de zonas horarias")
+                .onErrorMap(DecodingException.class, e -> {
+                    log.error("Error al procesar la lista de zonas horarias: {}", e.getMessage());
+                    return new TimeApiException("Error al procesar la lista de zonas horarias");
+                });
+    }
+
+    @Override
+    protected Mono<UpstreamTime> requestTime(String timezone) {
+        // La zona se agrega como ruta (Area/Location) para que la '/' no se codifique como %2F
+        return get(uriBuilder -> uriBuilder.path("/").path(timezone).build(), WorldTimeApiResponse.class,
+                        "al obtener la hora para " + timezone)
+                .onErrorMap(DecodingException.class, e -> {
+                    log.error("Error al decodificar la respuesta JSON para {}: {}", timezone, e.getMessage());
+                    return new TimeApiException("La respuesta del servidor no es un JSON válido");
+                })
+                .flatMap(body -> mapToTimeResponse(body)
+                        .map(response -> new UpstreamTime(response, nextTransition(body))));
+    }
+
+    // La API informa el fin del horario de verano en 'dst_until' cuando aplica
+    private static Instant nextTransition(WorldTimeApiResponse body) {
+        try {
+            return body.dstUntil() != null
+                    ? OffsetDateTime.parse(body.dstUntil(), TimeResponseMapper.DATE_TIME_FORMATTER).toInstant()
+                    : null;
+        } catch (Exception e) {
+            log.warn("Valor de dst_until inválido '{}': {}", body.dstUntil(), e.getMessage());
+            return null;
+        }
+    }
+
+    Mono<TimeResponse> mapToTimeResponse(WorldTimeApiResponse body) {
+        try {
+            log.debug("Respuesta JSON recibida: {}", body);
+            
+            // Verificar si los campos requeridos existen
+            if (body == null) {
+                log.error("La respuesta de la API es nula");
+                return Mono.error(new TimeApiException("La respuesta del servidor está vacía o es inválida"));
+            }
+            
+            String datetime = body.datetime();
+            String timezone = body.timezone();
+            
+            if (datetime == null || timezone == null) {
+                log.error("Campos faltantes en la respuesta. Se esperaban 'datetime' y 'timezone'. Respuesta: {}", body);
+                return Mono.error(new TimeApiException("La respuesta del servidor no contiene los datos esperados"));
+            }
+            
+            // Formatear fecha y hora
+            ZonedDateTime zonedDateTime;
+            try {
+                zonedDateTime = ZonedDateTime.parse(datetime, TimeResponseMapper.DATE_TIME_FORMATTER);
+            } catch (Exception e) {
+                log.error("Error al analizar la fecha/hora '{}' con el formato {}", datetime, TimeResponseMapper.DATE_TIME_FORMATTER, e);
+                return Mono.error(new TimeApiException("Formato de fecha/hora inválido recibido del servidor"));
+            }
+            
+            TimeResponse response = TimeResponseMapper.toTimeResponse(timezone, datetime, zonedDateTime);
+                    
+            log.debug("Respuesta mapeada: {}", response);
+            return Mono.just(response);
+                    
+        } catch (Exception e) {
+            log.error("Error inesperado al procesar la respuesta de la API. Respuesta: {}", body, e);
+            return Mono.error(new TimeApiException("Error al procesar la respuesta del servidor: " + e.getMessage()));
+        }
+    }
+}
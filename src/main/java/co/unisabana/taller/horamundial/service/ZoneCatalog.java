@@ -0,0 +1,155 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.TimeSourceProperties;
+import co.unisabana.taller.horamundial.config.ZoneCatalogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catálogo de zonas horarias en memoria. Se carga una vez, se recarga en segundo plano
+ * antes de vencer y mientras tanto se sigue respondiendo con el snapshot anterior.
+ */
+@Component
+public class ZoneCatalog {
+    private static final Logger log = LoggerFactory.getLogger(ZoneCatalog.class);
+
+    private final TimeSource source;
+    private final ZoneCatalogProperties properties;
+    private final Clock clock;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    @Autowired
+    public ZoneCatalog(TzdbTimeSource localSource, TimeSourceRouter remoteSource,
+                       TimeSourceProperties timeSourceProperties, ZoneCatalogProperties properties, Clock clock) {
+        this(timeSourceProperties.mode() == TimeSourceProperties.Mode.LOCAL ? localSource : remoteSource,
+                localSource, properties, clock);
+    }
+
+    ZoneCatalog(TimeSource source, TzdbTimeSource seed, ZoneCatalogProperties properties, Clock clock) {
+        this.source = source;
+        this.properties = properties;
+        this.clock = clock;
+        // La tzdb local sirve de semilla para responder sin red desde el primer momento
+        this.current.set(Snapshot.of(0, seed.availableZones().block(), seed.name(), clock.instant()));
+    }
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    public List<String> withPrefix(String prefix) {
+        return current().withPrefix(prefix);
+    }
+
+    public boolean contains(String zone) {
+        return current().contains(zone);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // Un catálogo recuperado del disco solo se recarga si ya está por vencer o es de otra fuente
+        if (current().version() == 0) {
+            refresh();
+        } else {
+            refreshIfDue();
+        }
+    }
+
+    /** Reemplaza la semilla por un catálogo guardado antes de reiniciar. */
+    void restore(long version, Collection<String> zones, String source, Instant loadedAt) {
+        Snapshot restored = Snapshot.of(version, zones, source, loadedAt);
+        current.updateAndGet(previous -> previous.version() == 0 ? restored : previous);
+    }
+
+    @Scheduled(fixedDelayString = "${app.zone-catalog.check-interval:PT1M}")
+    public void refreshIfDue() {
+        Snapshot snapshot = current();
+        Duration age = Duration.between(snapshot.loadedAt(), clock.instant());
+        if (!snapshot.source().equals(source.name()) || age.compareTo(properties.ttl().minus(properties.refreshAhead())) >= 0) {
+            refresh();
+        }
+    }
+
+    void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        source.availableZones()
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(zones -> {
+                    Snapshot previous = current();
+                    Snapshot next = Snapshot.of(previous.version() + 1, zones, source.name(), clock.instant());
+                    current.set(next);
+                    log.info("Catálogo de zonas horarias actualizado desde {}: {} zonas (versión {})",
+                            source.name(), next.size(), next.version());
+                }, e -> {
+                    Snapshot previous = current();
+                    boolean expired = Duration.between(previous.loadedAt(), clock.instant()).compareTo(properties.ttl()) >= 0;
+                    log.warn("No se pudo actualizar el catálogo de zonas desde {}, se mantiene la versión {}{}: {}",
+                            source.name(), previous.version(), expired ? " (vencida)" : "", e.getMessage());
+                });
+    }
+
+    /**
+     * Snapshot inmutable con las zonas ordenadas; las búsquedas por prefijo son una búsqueda
+     * binaria del rango [prefijo, prefijo + '\uffff'). La lista no admite cambios: de su orden
+     * dependen las búsquedas.
+     */
+    public record Snapshot(long version, List<String> zones, String source, Instant loadedAt) {
+
+        public Snapshot {
+            zones = List.copyOf(zones);
+        }
+
+        static Snapshot of(long version, Collection<String> zones, String source, Instant loadedAt) {
+            return new Snapshot(version, zones.stream().distinct().sorted().toList(), source, loadedAt);
+        }
+
+        public int size() {
+            return zones.size();
+        }
+
+        public boolean contains(String zone) {
+            return Collections.binarySearch(zones, zone) >= 0;
+        }
+
+        public List<String> withPrefix(String prefix) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + '\uffff');
+            return zones.subList(from, to);
+        }
+
+        public List<String> all() {
+            return zones;
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = zones.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (zones.get(mid).compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respuestas de GET /time/zones ya serializadas y comprimidas con gzip, una por prefijo y por
+ * versión del catálogo. Cuando cambia la versión se descartan todas. El ETag es un hash del
+ * contenido: si una recarga trae las mismas zonas, el ETag no cambia y los clientes siguen
+ * recibiendo 304.
+ */
+@Component
+public class ZoneCatalogResponses {
+    private static final int MAX_PREFIXES = 256;
+
+    private final ZoneCatalog catalog;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Body> bodies = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Body> eldest) {
+            return size() > MAX_PREFIXES;
+        }
+    };
+    private long version = -1;
+
+    public ZoneCatalogResponses(ZoneCatalog catalog, ObjectMapper objectMapper) {
+        this.catalog = catalog;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Zonas que empiezan con {@code prefix} (todas si es vacío). */
+    public Body zones(String prefix) {
+        ZoneCatalog.Snapshot snapshot = catalog.current();
+        String key = prefix != null ? prefix : "";
+        synchronized (bodies) {
+            if (snapshot.version() != version) {
+                bodies.clear();
+                version = snapshot.version();
+            }
+            Body body = bodies.get(key);
+            if (body == null) {
+                body = Body.of(serialize(key.isEmpty() ? snapshot.all() : snapshot.withPrefix(key)));
+                bodies.put(key, body);
+            }
+            return body;
+        }
+    }
+
+    private byte[] serialize(List<String> zones) {
+        try {
+            return objectMapper.writeValueAsBytes(zones);
+        } catch (JsonProcessingException e) {
+            throw new TimeApiException("No se pudo serializar el catálogo de zonas", e);
+        }
+    }
+
+    /** El cuerpo comprimido es otra representación y lleva su propio ETag. */
+    public record Body(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+
+        static Body of(byte[] json) {
+            String hash = hash(json);
+            return new Body(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gz\"");
+        }
+
+        public byte[] content(boolean gzipped) {
+            return gzipped ? gzip : json;
+        }
+
+        public String etag(boolean gzipped) {
+            return gzipped ? gzipEtag : etag;
+        }
+
+        /** Compara con If-None-Match, que puede traer varios ETags o '*'. */
+        public boolean matches(String ifNoneMatch, boolean gzipped) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            String current = etag(gzipped);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                // Un intermediario que recomprime la respuesta la marca como débil (W/"...")
+                if (tag.equals("*") || tag.equals(current) || tag.equals("W/" + current)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        private static String hash(byte[] json) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return HexFormat.of().formatHex(digest, 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
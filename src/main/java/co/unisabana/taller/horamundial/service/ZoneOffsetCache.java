@@ -0,0 +1,137 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caché del desfase UTC de cada zona junto con su ventana de validez (hasta la próxima
+ * transición de horario). Mientras la ventana siga vigente la hora se calcula con el reloj
+ * local, sin volver a consultar la API externa.
+ */
+@Component
+public class ZoneOffsetCache {
+
+    private final OffsetCacheProperties properties;
+    private final TransitionIndex transitions;
+    private final Clock clock;
+    private final Map<String, OffsetWindow> entries;
+
+    @Autowired
+    public ZoneOffsetCache(OffsetCacheProperties properties, TransitionIndex transitions, Clock clock) {
+        this.properties = properties;
+        this.transitions = transitions;
+        this.clock = clock;
+        // LinkedHashMap en orden de acceso como LRU acotado
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, OffsetWindow> eldest) {
+                return size() > properties.maxEntries();
+            }
+        };
+    }
+
+    ZoneOffsetCache(OffsetCacheProperties properties, Clock clock) {
+        this(properties, null, clock);
+    }
+
+    public TimeResponse currentTime(String timezone) {
+        Instant now = clock.instant();
+        OffsetWindow window = window(timezone, now);
+        if (window == null) {
+            return null;
+        }
+        return TimeResponseMapper.toTimeResponse(window.timezone(), now.atZone(window.offset()));
+    }
+
+    /** Ventana vigente de la zona, o nula si no está en caché. */
+    public OffsetWindow window(String timezone) {
+        return window(timezone, clock.instant());
+    }
+
+    private OffsetWindow window(String timezone, Instant now) {
+        synchronized (entries) {
+            OffsetWindow window = entries.get(timezone);
+            if (window != null && !now.isBefore(window.validUntil())) {
+                entries.remove(timezone);
+                return null;
+            }
+            return window;
+        }
+    }
+
+    /**
+     * Guarda el desfase observado. {@code nextTransition} es la próxima transición informada por
+     * la fuente (puede ser nula); si no se conoce se deriva de la tzdb local o se usa la vigencia por defecto.
+     */
+    public OffsetWindow put(String timezone, ZoneOffset offset, Instant nextTransition) {
+        Instant now = clock.instant();
+        Instant validUntil = nextTransition != null ? nextTransition : localNextTransition(timezone, now);
+        if (validUntil == null || !validUntil.isAfter(now)) {
+            validUntil = now.plus(properties.defaultTtl());
+        }
+        Instant maxValidUntil = now.plus(properties.maxTtl());
+        if (validUntil.isAfter(maxValidUntil)) {
+            validUntil = maxValidUntil;
+        }
+        OffsetWindow window = new OffsetWindow(timezone, offset, validUntil);
+        synchronized (entries) {
+            entries.put(timezone, window);
+        }
+        return window;
+    }
+
+    /** Copia de las ventanas vigentes, de la menos a la más usada. */
+    public List<OffsetWindow> windows() {
+        Instant now = clock.instant();
+        synchronized (entries) {
+            return entries.values().stream()
+                    .filter(window -> now.isBefore(window.validUntil()))
+                    .toList();
+        }
+    }
+
+    /** Recupera una ventana guardada antes de reiniciar, si sigue vigente y no hay una más nueva. */
+    void restore(OffsetWindow window) {
+        if (!clock.instant().isBefore(window.validUntil())) {
+            return;
+        }
+        synchronized (entries) {
+            entries.putIfAbsent(window.timezone(), window);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Instant localNextTransition(String timezone, Instant now) {
+        // El índice ya tiene las transiciones precalculadas; ZoneRules solo para zonas o instantes fuera de él
+        Instant indexed = transitions != null ? transitions.nextTransition(timezone, now) : null;
+        if (indexed != null) {
+            return indexed;
+        }
+        try {
+            // Sin transiciones futuras (zona sin horario de verano) la vigencia queda limitada por maxTtl
+            ZoneOffsetTransition transition = ZoneId.of(timezone).getRules().nextTransition(now);
+            return transition != null ? transition.getInstant() : Instant.MAX;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public record OffsetWindow(String timezone, ZoneOffset offset, Instant validUntil) {
+    }
+}
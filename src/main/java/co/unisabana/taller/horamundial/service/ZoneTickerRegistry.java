@@ -0,0 +1,79 @@
+package co.unisabana.taller.horamundial.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Un único reloj por zona compartido por todos los suscriptores: cada segundo se calcula y
+ * serializa una sola vez la hora de la zona y se reparte ese mismo payload a todas las conexiones.
+ * El reloj se detiene y se elimina cuando se va el último suscriptor.
+ */
+@Component
+public class ZoneTickerRegistry {
+    private static final Logger log = LoggerFactory.getLogger(ZoneTickerRegistry.class);
+    private static final Duration TICK = Duration.ofSeconds(1);
+
+    private final Map<String, Flux<Tick>> tickers = new ConcurrentHashMap<>();
+    private final TzdbTimeSource localSource;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public ZoneTickerRegistry(TzdbTimeSource localSource, ObjectMapper objectMapper, Clock clock) {
+        this.localSource = localSource;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    public Flux<Tick> ticks(String timezone) {
+        // Un cliente lento recibe el último tick en lugar de acumular los anteriores
+        return Flux.defer(() -> tickers.computeIfAbsent(timezone, this::createTicker))
+                .onBackpressureLatest();
+    }
+
+    public int activeTickers() {
+        return tickers.size();
+    }
+
+    private Flux<Tick> createTicker(String timezone) {
+        log.debug("Iniciando reloj compartido para {}", timezone);
+        AtomicReference<Flux<Tick>> self = new AtomicReference<>();
+        // Alinear los ticks al inicio de cada segundo, calculado al suscribirse al intervalo
+        Flux<Tick> ticker = Flux.defer(() -> Flux.interval(untilNextSecond(), TICK))
+                .startWith(0L)
+                .map(tick -> new Tick(timezone, serialize(timezone)))
+                .doFinally(signal -> {
+                    tickers.remove(timezone, self.get());
+                    log.debug("Reloj compartido para {} detenido ({})", timezone, signal);
+                })
+                // Los nuevos suscriptores reciben de inmediato el último tick calculado
+                .replay(1)
+                .refCount(1);
+        self.set(ticker);
+        return ticker;
+    }
+
+    private Duration untilNextSecond() {
+        return Duration.ofMillis(TICK.toMillis() - clock.millis() % TICK.toMillis());
+    }
+
+    private String serialize(String timezone) {
+        try {
+            return objectMapper.writeValueAsString(localSource.compute(timezone));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la hora para " + timezone, e);
+        }
+    }
+
+    public record Tick(String timezone, String payload) {
+    }
+}
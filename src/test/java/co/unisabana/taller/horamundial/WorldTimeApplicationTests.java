@@ -3,7 +3,7 @@ package co.unisabana.taller.horamundial;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.snapshot.enabled=false")
 class WorldTimeApplicationTests {
 
 	@Test
@@ -0,0 +1,106 @@
+package co.unisabana.taller.horamundial.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WebClientConfigTest {
+
+    private static final String BODY = "{\"timezone\":\"Europe/Madrid\"}";
+
+    private HttpServer server;
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            if (acceptEncoding.get() != null && acceptEncoding.get().contains("gzip")) {
+                body = gzip(body);
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void pipelineKeepsOneSetOfTimeoutHandlersAcrossReusedConnections() {
+        Set<String> channels = ConcurrentHashMap.newKeySet();
+        List<List<String>> pipelines = new CopyOnWriteArrayList<>();
+        HttpClient client = WebClientConfig.httpClient(properties(Map.of()))
+                .doOnResponse((response, conn) -> {
+                    channels.add(conn.channel().id().asShortText());
+                    pipelines.add(conn.channel().pipeline().names());
+                });
+
+        for (int i = 0; i < 200; i++) {
+            client.get().uri(url()).responseContent().aggregate().asString().block();
+        }
+
+        // Las conexiones se reutilizan y cada solicitud ve la misma cantidad de handlers
+        assertTrue(channels.size() <= 5, "conexiones: " + channels.size());
+        assertEquals(1, pipelines.stream().map(List::size).distinct().count());
+        List<String> names = pipelines.get(pipelines.size() - 1);
+        assertEquals(1, names.stream().filter(WebClientConfig.READ_TIMEOUT_HANDLER::equals).count());
+        assertEquals(1, names.stream().filter(WebClientConfig.WRITE_TIMEOUT_HANDLER::equals).count());
+    }
+
+    @Test
+    void requestsGzipAndDecompressesTheResponse() {
+        HttpClient client = WebClientConfig.httpClient(properties(Map.of()));
+
+        String body = client.get().uri(url()).responseContent().aggregate().asString().block();
+
+        assertTrue(acceptEncoding.get().contains("gzip"));
+        assertEquals(BODY, body);
+    }
+
+    private String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    private static UpstreamProperties properties(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bindOrCreate("app.world-time-api", UpstreamProperties.class);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
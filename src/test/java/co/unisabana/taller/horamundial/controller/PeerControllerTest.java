@@ -0,0 +1,53 @@
+package co.unisabana.taller.horamundial.controller;
+
+import co.unisabana.taller.horamundial.service.ZoneOffsetCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.TestSocketUtils;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.snapshot.enabled=false", "app.time-source.mode=LOCAL", "app.cache.mode=PEERS"})
+class PeerControllerTest {
+
+    private static final int PEER_PORT = TestSocketUtils.findAvailableTcpPort();
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ZoneOffsetCache offsetCache;
+
+    @DynamicPropertySource
+    static void peerPort(DynamicPropertyRegistry registry) {
+        registry.add("app.cache.port", () -> PEER_PORT);
+        registry.add("app.cache.self", () -> "http://127.0.0.1:" + PEER_PORT);
+    }
+
+    @Test
+    void offsetsAreOnlyServedOnThePeerPort() {
+        offsetCache.put("America/Bogota", ZoneOffset.ofHours(-5), Instant.now().plus(1, ChronoUnit.DAYS));
+        WebTestClient peers = WebTestClient.bindToServer().baseUrl("http://127.0.0.1:" + PEER_PORT).build();
+
+        client.get().uri("/internal/offsets?zone=America/Bogota")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        peers.get().uri("/internal/offsets?zone=America/Bogota")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.offset").isEqualTo("-05:00");
+
+        peers.get().uri("/internal/offsets?zone=Mars/Olympus_Mons")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,57 @@
+package co.unisabana.taller.horamundial.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.snapshot.enabled=false", "app.time-source.mode=LOCAL"})
+class TimeControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void batchAnswersEveryItemWhenOneIsNullOrInvalid() {
+        client.post().uri("/time/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"country\":\"America\",\"city\":\"Bogota\"},{\"city\":\"Madrid\"},null,"
+                        + "{\"country\":\"Europe\",\"city\":\"Madrid\"}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4)
+                .jsonPath("$[0].result.timezone").isEqualTo("America/Bogota")
+                .jsonPath("$[1].error").exists()
+                .jsonPath("$[2].error").isEqualTo("La ubicación es requerida")
+                .jsonPath("$[3].result.timezone").isEqualTo("Europe/Madrid");
+    }
+
+    @Test
+    void streamRejectsUnknownZoneWithJsonErrorForEventSourceClients() {
+        client.get().uri("/time/stream?zones=Bad/Zone")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Zona horaria desconocida: Bad/Zone");
+    }
+
+    @Test
+    void convertRejectsUnknownZoneWithJsonErrorForNdjsonClients() {
+        client.post().uri("/time/convert")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"instants\":[\"2025-07-01T17:30:00Z\"],\"zones\":[\"Europe/Madrid\",\"Bad/Zone\"]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Zonas horarias desconocidas: [Bad/Zone]");
+    }
+}
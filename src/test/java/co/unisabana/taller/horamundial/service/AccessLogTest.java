@@ -0,0 +1,53 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.AccessLogProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccessLogTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void keepsErrorsAndSlowRequestsAndSamplesTheRest() {
+        AccessLog accessLog = accessLog(0.0, 100);
+
+        accessLog.record("GET", "/time/current", "country=Colombia&city=Bogota", 200, FAST, false);
+        assertEquals(0, accessLog.pending());
+
+        accessLog.record("GET", "/time/current", "country=Atlantida", 400, FAST, false);
+        accessLog.record("GET", "/time/current", null, 200, SLOW, false);
+        assertEquals(2, accessLog.pending());
+
+        // Un flujo largo no es una solicitud lenta
+        accessLog.record("GET", "/time/stream", "zones=UTC", 200, SLOW, true);
+        assertEquals(2, accessLog.pending());
+    }
+
+    @Test
+    void countsEventsDroppedWhenTheBufferIsFull() {
+        AccessLog accessLog = accessLog(1.0, 3);
+
+        for (int i = 0; i < 10; i++) {
+            accessLog.record("GET", "/ping", null, 200, FAST, false);
+        }
+
+        assertEquals(3, accessLog.pending());
+        assertEquals(7.0, registry.counter("horamundial.access.log.dropped").count());
+    }
+
+    private AccessLog accessLog(double sampleRate, int bufferSize) {
+        // Sin el hilo que escribe, la cola queda tal como la deja el hilo de la solicitud
+        return new AccessLog(new AccessLogProperties(true, sampleRate, Duration.ofSeconds(1), bufferSize),
+                new ObjectMapper(), registry, Clock.systemUTC(), false);
+    }
+}
@@ -0,0 +1,92 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void queuedRequestGetsThePlaceReleasedBeforeItsTimeout() throws Exception {
+        AdmissionControl admission = admission(Duration.ofSeconds(5));
+        assertTrue(admission.tryEnter());
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> enter(admission));
+        Thread.sleep(100);
+        admission.exit();
+
+        assertTrue(waiting.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFullOrTheWaitRunsOut() throws Exception {
+        AdmissionControl admission = admission(Duration.ofMillis(300));
+        assertTrue(admission.tryEnter());
+
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> enter(admission));
+        Thread.sleep(100);
+        // La cola admite una sola solicitud y ya está ocupada
+        assertFalse(admission.tryEnter());
+        assertFalse(queued.get(5, TimeUnit.SECONDS));
+
+        assertEquals(1, registry.get(AdmissionControl.REJECTED).tag("reason", "queue_full").counter().count());
+        assertEquals(1, registry.get(AdmissionControl.REJECTED).tag("reason", "queue_timeout").counter().count());
+    }
+
+    @Test
+    void healthAndMetricsAreExempt() {
+        AdmissionControl admission = admission(Duration.ofMillis(100));
+        assertTrue(admission.isExempt("/ping"));
+        assertTrue(admission.isExempt("/actuator/prometheus"));
+        assertFalse(admission.isExempt("/time/current"));
+    }
+
+    @Test
+    void derivesLimitsThatLeaveTomcatThreadsForExemptPaths() {
+        AdmissionProperties derived = AdmissionControl.resolve(
+                new AdmissionProperties(true, null, null, Duration.ofMillis(200), Duration.ofSeconds(1), List.of()), 200, false);
+
+        assertEquals(45, derived.maxQueue());
+        assertEquals(135, derived.maxConcurrent());
+        assertTrue(derived.maxConcurrent() + derived.maxQueue() < 200);
+
+        AdmissionProperties explicit = AdmissionControl.resolve(
+                new AdmissionProperties(true, 40, 0, Duration.ofMillis(200), Duration.ofSeconds(1), List.of()), 200, false);
+        assertEquals(40, explicit.maxConcurrent());
+        assertEquals(0, explicit.maxQueue());
+    }
+
+    @Test
+    void blockingModeOnPlatformThreadsCountsTheUpstreamThreadOfEachRequest() {
+        AdmissionProperties derived = AdmissionControl.resolve(
+                new AdmissionProperties(true, null, null, Duration.ofMillis(200), Duration.ofSeconds(1), List.of()), 200, true);
+
+        assertEquals(22, derived.maxQueue());
+        assertEquals(79, derived.maxConcurrent());
+        assertTrue(2 * derived.maxConcurrent() + derived.maxQueue() <= 180);
+    }
+
+    private AdmissionControl admission(Duration queueTimeout) {
+        return new AdmissionControl(new AdmissionProperties(true, 1, 1, queueTimeout, Duration.ofSeconds(1),
+                List.of("/ping", "/actuator")), registry);
+    }
+
+    private static boolean enter(AdmissionControl admission) {
+        try {
+            return admission.tryEnter();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
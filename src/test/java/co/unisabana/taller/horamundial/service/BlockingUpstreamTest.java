@@ -0,0 +1,125 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.ExecutionModeConfig;
+import co.unisabana.taller.horamundial.config.ExecutionProperties;
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.exception.UpstreamStatusException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockingUpstreamTest {
+
+    private static final String BOGOTA = "{\"datetime\":\"2025-07-01T12:30:00.000000-05:00\","
+            + "\"timezone\":\"America/Bogota\",\"utc_offset\":\"-05:00\"}";
+
+    private HttpServer server;
+    private final AtomicReference<String> callingThread = new AtomicReference<>();
+    private final AtomicBoolean virtualThread = new AtomicBoolean();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            boolean known = exchange.getRequestURI().getPath().equals("/America/Bogota");
+            byte[] body = (known ? BOGOTA : "{\"error\":\"unknown location\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(known ? 200 : 404, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void reactiveModeLeavesSourcesOnTheWebClient() {
+        BlockingUpstream blocking = blockingUpstream("REACTIVE");
+
+        assertFalse(blocking.isEnabled());
+        assertFalse(blocking.withBaseUrl("http://localhost").isEnabled());
+    }
+
+    @Test
+    void blockingModeCallsTheApiOnAVirtualThreadOutsideTheSubscriber() {
+        WorldTimeApiTimeSource source = source(blockingUpstream("BLOCKING"));
+
+        StepVerifier.create(source.requestTime("America/Bogota")
+                        .doOnNext(time -> {
+                            callingThread.set(Thread.currentThread().getName());
+                            virtualThread.set(Thread.currentThread().isVirtual());
+                        }))
+                .assertNext(time -> assertEquals("America/Bogota", time.response().getTimezone()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertNotNull(callingThread.get());
+        assertTrue(callingThread.get().startsWith("upstream"), callingThread.get());
+        assertTrue(virtualThread.get(), callingThread.get());
+    }
+
+    @Test
+    void blockingModeMapsErrorStatusLikeTheWebClient() {
+        WorldTimeApiTimeSource source = source(blockingUpstream("BLOCKING"));
+
+        StepVerifier.create(source.requestTime("Nowhere/Zone"))
+                .expectErrorSatisfies(e -> {
+                    assertTrue(e instanceof UpstreamStatusException, e.toString());
+                    assertEquals(404, ((UpstreamStatusException) e).getStatusCode());
+                })
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private BlockingUpstream blockingUpstream(String mode) {
+        Binder binder = binder(mode);
+        return new ExecutionModeConfig().blockingUpstream(
+                binder.bindOrCreate("app.execution", ExecutionProperties.class),
+                binder.bindOrCreate("app.world-time-api", UpstreamProperties.class),
+                RestClient.builder(),
+                new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+    }
+
+    private WorldTimeApiTimeSource source(BlockingUpstream blocking) {
+        Binder binder = binder("BLOCKING");
+        Clock clock = Clock.systemUTC();
+        UpstreamProperties properties = binder.bindOrCreate("app.world-time-api", UpstreamProperties.class);
+        return new WorldTimeApiTimeSource(WebClient.create(), blocking,
+                new ZoneOffsetCache(binder.bindOrCreate("app.offset-cache", OffsetCacheProperties.class), clock),
+                properties, new UpstreamMetrics(new SimpleMeterRegistry()), new RetryBudget(properties), clock);
+    }
+
+    private Binder binder(String mode) {
+        return new Binder(new MapConfigurationPropertySource(Map.of(
+                "app.execution.mode", mode,
+                "app.world-time-api.base-url", "http://127.0.0.1:" + server.getAddress().getPort())));
+    }
+}
@@ -0,0 +1,98 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(50).toNanos();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-07-01T12:00:00Z"));
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter("prueba",
+            new UpstreamProperties.ConcurrencyLimit(true, 8, 2, 20, 0.5, 2.0, Duration.ofMinutes(1)), clock);
+
+    @Test
+    void rejectsCallsBeyondTheLimit() {
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnored();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsByOnePerRoundOfFastResponses() {
+        for (int i = 0; i < 9; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+        assertEquals(9, limiter.limit());
+    }
+
+    @Test
+    void shrinksOnFailuresOncePerRoundTripDownToTheMinimum() {
+        limiter.tryAcquire();
+        limiter.onSuccess(FAST);
+        drop();
+        drop();
+        assertEquals(4, limiter.limit());
+
+        clock.instant = clock.instant.plusSeconds(1);
+        drop();
+        clock.instant = clock.instant.plusSeconds(1);
+        drop();
+        assertEquals(2, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void shrinksWhenLatencyExceedsTheToleranceOverTheMinimum() {
+        limiter.tryAcquire();
+        limiter.onSuccess(FAST);
+        clock.instant = clock.instant.plusSeconds(1);
+
+        limiter.tryAcquire();
+        limiter.onSuccess(FAST * 3);
+        assertEquals(4, limiter.limit());
+    }
+
+    private void drop() {
+        limiter.tryAcquire();
+        limiter.onDropped();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.NegativeCacheProperties;
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.TimeSourceProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.config.WebClientConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConnectionWarmupTest {
+
+    private final Clock clock = Clock.systemUTC();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void warmsOnceAtStartupAndReplenishesOnlyProvidersWithRecentTraffic() {
+        Binder binder = binder("REMOTE");
+        StubSource idle = new StubSource("worldtimeapi", "http://idle.example/api", binder);
+        StubSource busy = new StubSource("timeapi", "https://busy.example/api", binder);
+        ConnectionWarmup warmup = warmup(binder, idle, busy);
+
+        warmup.onReady();
+        assertEquals(List.of(2, 2), List.of(idle.warmed.get(), busy.warmed.get()));
+
+        // Sin tráfico no se repone nada aunque el pool haya cerrado las conexiones
+        warmup.replenish();
+        assertEquals(List.of(2, 2), List.of(idle.warmed.get(), busy.warmed.get()));
+
+        StepVerifier.create(busy.currentTime("America/Bogota")).expectNextCount(1).verifyComplete();
+        Gauge.builder(ConnectionWarmup.TOTAL_CONNECTIONS, () -> 1)
+                .tags("name", WebClientConfig.POOL_NAME, "remote.address", "busy.example:443")
+                .register(registry);
+        warmup.replenish();
+
+        assertEquals(2, idle.warmed.get());
+        assertEquals(3, busy.warmed.get());
+    }
+
+    @Test
+    void skipsWarmupInLocalMode() {
+        Binder binder = binder("LOCAL");
+        StubSource source = new StubSource("worldtimeapi", "http://idle.example/api", binder);
+        ConnectionWarmup warmup = warmup(binder, source);
+
+        StepVerifier.create(source.currentTime("America/Bogota")).expectNextCount(1).verifyComplete();
+        warmup.onReady();
+        warmup.replenish();
+
+        assertEquals(0, source.warmed.get());
+    }
+
+    private ConnectionWarmup warmup(Binder binder, StubSource... sources) {
+        TimeSourceProperties timeSource = binder.bindOrCreate("app.time-source", TimeSourceProperties.class);
+        TimeSourceRouter router = new TimeSourceRouter(List.of(sources), offsetCache(binder),
+                new UnknownZoneCache(binder.bindOrCreate("app.negative-cache", NegativeCacheProperties.class), clock),
+                timeSource, new UpstreamMetrics(registry));
+        return new ConnectionWarmup(router, binder.bindOrCreate("app.world-time-api", UpstreamProperties.class),
+                timeSource, BlockingUpstream.disabled(), registry);
+    }
+
+    private ZoneOffsetCache offsetCache(Binder binder) {
+        return new ZoneOffsetCache(binder.bindOrCreate("app.offset-cache", OffsetCacheProperties.class), clock);
+    }
+
+    private static Binder binder(String mode) {
+        return new Binder(new MapConfigurationPropertySource(Map.of(
+                "app.time-source.mode", mode,
+                "app.offset-cache.max-entries", "0",
+                "app.world-time-api.hedge.enabled", "false",
+                "app.world-time-api.pool.warmup-connections", "2")));
+    }
+
+    private final class StubSource extends RemoteTimeSource {
+        private final String baseUrl;
+        private final AtomicInteger warmed = new AtomicInteger();
+        private final TzdbTimeSource tzdb = new TzdbTimeSource(clock);
+
+        private StubSource(String name, String baseUrl, Binder binder) {
+            this(name, baseUrl, binder, binder.bindOrCreate("app.world-time-api", UpstreamProperties.class));
+        }
+
+        private StubSource(String name, String baseUrl, Binder binder, UpstreamProperties properties) {
+            super(name, WebClient.create(), offsetCache(binder), properties,
+                    new UpstreamMetrics(registry), new RetryBudget(properties), clock);
+            this.baseUrl = baseUrl;
+        }
+
+        @Override
+        public String baseUrl() {
+            return baseUrl;
+        }
+
+        @Override
+        public Mono<Void> warmup(int connections) {
+            warmed.addAndGet(connections);
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<UpstreamTime> requestTime(String timezone) {
+            return Mono.just(new UpstreamTime(tzdb.compute(timezone), null));
+        }
+
+        @Override
+        protected Mono<List<String>> requestZones() {
+            return tzdb.availableZones();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package co.unisabana.taller.horamundial.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationResolverTest {
+
+    private final LocationResolver resolver = new LocationResolver(new TzdbTimeSource(Clock.systemUTC()));
+
+    @Test
+    void ignoresAccentsCaseAndSpanishNames() {
+        assertEquals(List.of("America/Bogota"), resolver.resolve("Colombia", "Bogotá"));
+        assertEquals(List.of("America/Bogota"), resolver.resolve(" colombia ", "MEDELLÍN"));
+        assertEquals(List.of("America/New_York"), resolver.resolve("Estados Unidos", "Nueva York"));
+        assertEquals(List.of("America/Sao_Paulo"), resolver.resolve("Brasil", "São Paulo"));
+        assertEquals(List.of("Europe/Madrid"), resolver.resolve("España", "Cartagena"));
+        assertEquals(List.of("America/Argentina/Buenos_Aires"), resolver.resolve("america", "buenos-aires"));
+    }
+
+    @Test
+    void countryAloneReturnsItsZones() {
+        assertEquals(List.of("America/Bogota"), resolver.resolve("Colombia", ""));
+        assertTrue(resolver.resolve("Europa", null).contains("Europe/Madrid"));
+        assertTrue(resolver.resolve("Estados Unidos", null).size() > 1);
+    }
+
+    @Test
+    void rejectsUnknownOrContradictoryLocations() {
+        assertEquals(List.of(), resolver.resolve("Atlantis", "Ciudad Perdida"));
+        assertEquals(List.of(), resolver.resolve("Colombia", "Madrid"));
+        assertEquals(List.of(), resolver.resolve("Narnia", null));
+    }
+
+    @Test
+    void normalizesSeparators() {
+        assertEquals("nueva york", LocationResolver.normalize("  Nueva_York "));
+        assertEquals("sao paulo", LocationResolver.normalize("São-Paulo"));
+        assertEquals("espana", LocationResolver.normalize("ESPAÑA"));
+    }
+}
@@ -0,0 +1,132 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.CacheProperties;
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeerTimeCacheTest {
+
+    private final Clock clock = Clock.systemUTC();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Map<String, Pod> pods = new HashMap<>();
+    private final List<String> zones = ZoneId.getAvailableZoneIds().stream()
+            .filter(zone -> zone.startsWith("Europe/")).sorted().limit(60).toList();
+
+    @Test
+    void upstreamCallsStayFlatAsReplicasAreAdded() {
+        for (int replicas : new int[]{1, 3, 5}) {
+            pods.clear();
+            upstreamCalls.set(0);
+            List<String> urls = IntStream.range(0, replicas).mapToObj(i -> "http://pod-" + i + ":8080").toList();
+            urls.forEach(url -> pods.put(url, new Pod(url, urls)));
+
+            for (Pod pod : pods.values()) {
+                for (String zone : zones) {
+                    assertNotNull(pod.cache.currentTime(zone, pod::load).block());
+                }
+            }
+
+            // Cada zona se pide a la API externa una sola vez, la pida quien la pida
+            assertEquals(zones.size(), upstreamCalls.get(), "réplicas: " + replicas);
+        }
+    }
+
+    @Test
+    void fallsBackToUpstreamWhenOwnerIsDown() {
+        List<String> urls = List.of("http://pod-0:8080", "http://pod-1:8080");
+        Pod pod = new Pod(urls.get(0), urls);
+        // pod-1 no está registrado: sus zonas fallan con error de conexión
+        String zone = zones.stream().filter(z -> pod.cache.owner(z).equals(urls.get(1))).findFirst().orElseThrow();
+
+        assertNotNull(pod.cache.currentTime(zone, pod::load).block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void addingANodeOnlyMovesItsShareOfKeys() {
+        List<String> nodes = new ArrayList<>(List.of("a", "b", "c"));
+        HashRing before = new HashRing(nodes, 128);
+        nodes.add("d");
+        HashRing after = new HashRing(nodes, 128);
+
+        List<String> keys = ZoneId.getAvailableZoneIds().stream().sorted().toList();
+        long moved = keys.stream().filter(key -> !before.owner(key).equals(after.owner(key))).count();
+        long toNewNode = keys.stream().filter(key -> after.owner(key).equals("d")).count();
+
+        assertEquals(toNewNode, moved);
+        assertTrue(moved > keys.size() / 8 && moved < keys.size() / 2, "movidas: " + moved);
+    }
+
+    private final class Pod {
+        private final ZoneOffsetCache offsetCache =
+                new ZoneOffsetCache(new OffsetCacheProperties(512, Duration.ofHours(6), Duration.ofHours(24)), clock);
+        private final PeerTimeCache cache;
+
+        private Pod(String self, List<String> peers) {
+            WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+                Pod owner = pods.get("http://" + request.url().getHost() + ":" + request.url().getPort());
+                if (owner == null) {
+                    return Mono.error(new ConnectException("Connection refused"));
+                }
+                String zone = URLDecoder.decode(UriComponentsBuilder.fromUri(request.url()).build()
+                        .getQueryParams().getFirst("zone"), StandardCharsets.UTF_8);
+                return owner.cache.ownedWindow(zone, owner::load)
+                        .map(window -> {
+                            try {
+                                return ClientResponse.create(HttpStatus.OK)
+                                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                        .body(objectMapper.writeValueAsString(window))
+                                        .build();
+                            } catch (Exception e) {
+                                throw new IllegalStateException(e);
+                            }
+                        });
+            }).build();
+            CacheProperties properties = new CacheProperties(CacheProperties.Mode.PEERS, self, peers, "", 8080, 128,
+                    Duration.ofMillis(500), Duration.ofSeconds(15));
+            this.cache = new PeerTimeCache(properties, offsetCache, webClient,
+                    new UpstreamMetrics(new SimpleMeterRegistry()), clock);
+        }
+
+        // Como RemoteTimeSource: consulta la API (simulada con la tzdb) y guarda el desfase
+        private Mono<TimeResponse> load(String zone) {
+            TimeResponse cached = offsetCache.currentTime(zone);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            upstreamCalls.incrementAndGet();
+            ZoneId id = ZoneId.of(zone);
+            offsetCache.put(zone, id.getRules().getOffset(clock.instant()), null);
+            return Mono.just(TimeResponseMapper.toTimeResponse(zone, clock.instant().atZone(id)));
+        }
+    }
+}
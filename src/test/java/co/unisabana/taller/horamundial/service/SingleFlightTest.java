@@ -0,0 +1,74 @@
+package co.unisabana.taller.horamundial.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+
+    @Test
+    void sharesOneCallAcrossConcurrentSubscribers() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+
+        Mono<List<String>> burst = Flux.range(0, 200)
+                .flatMap(i -> flights.execute("America/Bogota", () -> {
+                    calls.incrementAndGet();
+                    return upstream.asMono();
+                }))
+                .collectList();
+
+        StepVerifier.create(burst)
+                .then(() -> upstream.tryEmitValue("-05:00"))
+                .assertNext(results -> assertEquals(200, results.size()))
+                .verifyComplete();
+        assertEquals(1, calls.get());
+        assertEquals(0, flights.inFlight());
+    }
+
+    @Test
+    void propagatesErrorsToEveryWaiterAndReleasesKey() {
+        Sinks.One<String> upstream = Sinks.one();
+        Mono<String> first = flights.execute("Europe/Madrid", upstream::asMono);
+        Mono<String> second = flights.execute("Europe/Madrid", () -> Mono.just("no debería llamarse"));
+
+        StepVerifier.create(Flux.merge(first.materialize(), second.materialize()).filter(signal -> signal.isOnError()).count())
+                .then(() -> upstream.tryEmitError(new IllegalStateException("caído")))
+                .expectNext(2L)
+                .verifyComplete();
+        StepVerifier.create(flights.execute("Europe/Madrid", () -> Mono.just("+02:00")))
+                .expectNext("+02:00")
+                .verifyComplete();
+    }
+
+    @Test
+    void cancelsUpstreamWhenLastSubscriberLeaves() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Mono<String> slow = Mono.<String>never().doOnCancel(() -> cancelled.set(true));
+
+        Disposable a = flights.execute("Asia/Tokyo", () -> slow).subscribe();
+        Disposable b = flights.execute("Asia/Tokyo", () -> slow).subscribe();
+        a.dispose();
+        assertEquals(1, flights.inFlight());
+        b.dispose();
+
+        assertTrue(cancelled.get());
+        assertEquals(0, flights.inFlight());
+        StepVerifier.create(flights.execute("Asia/Tokyo", () -> Mono.just("+09:00")).timeout(Duration.ofSeconds(1)))
+                .expectNext("+09:00")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,77 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.SnapshotProperties;
+import co.unisabana.taller.horamundial.config.ZoneCatalogProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SnapshotStoreTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-10-20T00:00:00Z"), ZoneOffset.UTC);
+    private final ZoneCatalogProperties catalogProperties =
+            new ZoneCatalogProperties(Duration.ofHours(24), Duration.ofHours(1), Duration.ofMinutes(1));
+    private final OffsetCacheProperties offsetProperties =
+            new OffsetCacheProperties(16, Duration.ofHours(6), Duration.ofDays(30));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restoresCatalogAndOffsetsAfterRestart() {
+        SnapshotProperties properties = new SnapshotProperties(true, dir.resolve("data/horamundial.snapshot"), Duration.ofMinutes(1));
+        ZoneCatalog catalog = catalog();
+        catalog.refresh();
+        ZoneOffsetCache offsets = new ZoneOffsetCache(offsetProperties, clock);
+        offsets.put("Europe/Madrid", ZoneOffset.ofHours(2), null);
+        offsets.put("America/Bogota", ZoneOffset.ofHours(-5), null);
+        new SnapshotStore(properties, catalog, offsets, clock).save();
+
+        ZoneCatalog restartedCatalog = catalog();
+        ZoneOffsetCache restartedOffsets = new ZoneOffsetCache(offsetProperties, clock);
+        new SnapshotStore(properties, restartedCatalog, restartedOffsets, clock).restore();
+
+        assertEquals(1, restartedCatalog.current().version());
+        assertEquals(catalog.current().all(), restartedCatalog.current().all());
+        assertEquals(offsets.windows(), restartedOffsets.windows());
+        assertNotNull(restartedOffsets.currentTime("Europe/Madrid"));
+    }
+
+    @Test
+    void ignoresCorruptedSnapshot() throws Exception {
+        Path path = dir.resolve("horamundial.snapshot");
+        SnapshotProperties properties = new SnapshotProperties(true, path, Duration.ofMinutes(1));
+        ZoneOffsetCache offsets = new ZoneOffsetCache(offsetProperties, clock);
+        offsets.put("Europe/Madrid", ZoneOffset.ofHours(2), null);
+        ZoneCatalog catalog = catalog();
+        catalog.refresh();
+        new SnapshotStore(properties, catalog, offsets, clock).save();
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 3] ^= 0x7F;
+        Files.write(path, bytes);
+
+        ZoneCatalog restartedCatalog = catalog();
+        ZoneOffsetCache restartedOffsets = new ZoneOffsetCache(offsetProperties, clock);
+        new SnapshotStore(properties, restartedCatalog, restartedOffsets, clock).restore();
+
+        assertEquals(0, restartedCatalog.current().version());
+        assertNull(restartedOffsets.currentTime("Europe/Madrid"));
+    }
+
+    private ZoneCatalog catalog() {
+        TzdbTimeSource tzdb = new TzdbTimeSource(clock);
+        return new ZoneCatalog(tzdb, tzdb, catalogProperties, clock);
+    }
+}
@@ -0,0 +1,64 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.TimeApiIoProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class TimeApiIoTimeSourceTest {
+
+    private static final String AMSTERDAM = "{\"timeZone\":\"Europe/Amsterdam\","
+            + "\"currentLocalTime\":\"2025-07-01T14:30:00.1234567\","
+            + "\"currentUtcOffset\":{\"seconds\":7200,\"milliseconds\":7200000},"
+            + "\"standardUtcOffset\":{\"seconds\":3600},\"hasDayLightSaving\":true,\"isDayLightSavingActive\":true,"
+            + "\"dstInterval\":{\"dstName\":\"CEST\",\"dstStart\":\"2025-03-30T01:00:00Z\",\"dstEnd\":\"2025-10-26T01:00:00Z\"}}";
+
+    @Test
+    void mapsLocalTimeWithSeparateOffsetAndCachesIt() {
+        Clock clock = Clock.fixed(Instant.parse("2025-07-01T12:30:00Z"), ZoneOffset.UTC);
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "app.time-api-io.base-url", "http://timeapi.test/api")));
+        ZoneOffsetCache cache = new ZoneOffsetCache(binder.bindOrCreate("app.offset-cache", OffsetCacheProperties.class), clock);
+        AtomicReference<String> requested = new AtomicReference<>();
+        WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+            requested.set(request.url().toString());
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(AMSTERDAM)
+                    .build());
+        }).build();
+        UpstreamProperties properties = binder.bindOrCreate("app.world-time-api", UpstreamProperties.class);
+        TimeApiIoTimeSource source = new TimeApiIoTimeSource(webClient,
+                binder.bindOrCreate("app.time-api-io", TimeApiIoProperties.class), cache, properties,
+                new UpstreamMetrics(new SimpleMeterRegistry()), new RetryBudget(properties), clock);
+
+        StepVerifier.create(source.currentTime("Europe/Amsterdam"))
+                .assertNext(response -> {
+                    assertEquals("Europe/Amsterdam", response.getTimezone());
+                    assertEquals("2025-07-01T14:30:00.1234567+02:00", response.getDatetime());
+                })
+                .verifyComplete();
+
+        assertEquals("http://timeapi.test/api/TimeZone/zone?timeZone=Europe/Amsterdam", requested.get());
+        assertNotNull(cache.currentTime("Europe/Amsterdam"));
+    }
+}
@@ -0,0 +1,62 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.ConvertProperties;
+import co.unisabana.taller.horamundial.dto.ConversionResult;
+import co.unisabana.taller.horamundial.dto.ConvertRequest;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeConversionServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final TimeConversionService service = new TimeConversionService(
+            new TzdbTimeSource(Clock.systemUTC()), new ConvertProperties(100, 10, 4), objectMapper);
+
+    @Test
+    void streamsMatrixRowByRowInRequestOrder() throws Exception {
+        List<Instant> instants = IntStream.range(0, 50)
+                .mapToObj(hour -> Instant.parse("2025-03-01T00:00:00Z").plusSeconds(hour * 3600L))
+                .toList();
+        List<String> zones = List.of("America/Bogota", "Europe/Madrid", "Asia/Tokyo");
+
+        List<String> rows = service.convert(new ConvertRequest(instants, zones)).collectList().block();
+
+        assertEquals(instants.size(), rows.size());
+        List<ConversionResult> cells = new ArrayList<>();
+        for (String row : rows) {
+            for (String line : row.split("\n")) {
+                cells.add(objectMapper.readValue(line, ConversionResult.class));
+            }
+        }
+        assertEquals(150, cells.size());
+        ConversionResult last = cells.get(149);
+        assertEquals(instants.get(49), last.getInstant());
+        assertEquals("Asia/Tokyo", last.getResult().getTimezone());
+        assertEquals("2025-03-03T10:00:00+09:00", last.getResult().getDatetime());
+        assertEquals("2025-03-03 10:00:00", last.getResult().getFormattedDatetime());
+        assertEquals("Europe/Madrid", cells.get(1).getResult().getTimezone());
+    }
+
+    @Test
+    void rejectsUnknownZonesAndOversizedRequests() {
+        List<Instant> instants = List.of(Instant.parse("2025-03-01T00:00:00Z"));
+
+        assertThrows(TimeApiException.class,
+                () -> service.convert(new ConvertRequest(instants, List.of("America/Bogota", "Mars/Olympus_Mons"))));
+        assertThrows(TimeApiException.class,
+                () -> service.convert(new ConvertRequest(instants, List.of())));
+        assertThrows(TimeApiException.class, () -> service.convert(new ConvertRequest(instants,
+                IntStream.range(0, 11).mapToObj(i -> "America/Bogota").toList())));
+    }
+}
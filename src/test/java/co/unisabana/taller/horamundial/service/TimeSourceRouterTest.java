@@ -0,0 +1,155 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.NegativeCacheProperties;
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.TimeSourceProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import co.unisabana.taller.horamundial.exception.UpstreamStatusException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeSourceRouterTest {
+
+    private final Clock clock = Clock.systemUTC();
+    private final Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+            "app.offset-cache.max-entries", "0",
+            "app.world-time-api.retry.max-retries", "0",
+            "app.world-time-api.hedge.enabled", "false",
+            "app.time-source.routing.providers", "lento,rapido",
+            "app.time-source.routing.min-samples", "2",
+            "app.time-source.routing.explore-ratio", "0")));
+    private final ZoneOffsetCache offsetCache =
+            new ZoneOffsetCache(binder.bindOrCreate("app.offset-cache", OffsetCacheProperties.class), clock);
+    private final UnknownZoneCache unknownZones =
+            new UnknownZoneCache(binder.bindOrCreate("app.negative-cache", NegativeCacheProperties.class), clock);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UpstreamMetrics metrics = new UpstreamMetrics(registry);
+
+    @Test
+    void prefersLowestLatencyProviderOnceItHasSamples() {
+        StubProvider slow = new StubProvider("lento", Duration.ofMillis(40), false);
+        StubProvider fast = new StubProvider("rapido", Duration.ofMillis(2), false);
+        TimeSourceRouter router = router(slow, fast);
+
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(router.currentTime("America/Bogota")).expectNextCount(1).verifyComplete();
+        }
+
+        assertEquals("rapido", router.ranked().get(0).source().name());
+        assertEquals(2, slow.calls.get());
+        assertEquals(8, fast.calls.get());
+    }
+
+    @Test
+    void skipsProvidersDisabledInConfiguration() {
+        StubProvider disabled = new StubProvider("lento", Duration.ZERO, false);
+        disabled.enabled = false;
+        StubProvider fast = new StubProvider("rapido", Duration.ZERO, false);
+        TimeSourceRouter router = router(disabled, fast);
+
+        StepVerifier.create(router.currentTime("America/Bogota")).expectNextCount(1).verifyComplete();
+
+        assertEquals(List.of(fast), router.sources());
+        assertEquals(0, disabled.calls.get());
+    }
+
+    @Test
+    void failsOverAndDemotesProviderThatKeepsFailing() {
+        StubProvider failing = new StubProvider("lento", Duration.ZERO, true);
+        StubProvider healthy = new StubProvider("rapido", Duration.ofMillis(20), false);
+        TimeSourceRouter router = router(failing, healthy);
+
+        for (int i = 0; i < 6; i++) {
+            StepVerifier.create(router.currentTime("Europe/Madrid"))
+                    .assertNext(response -> assertEquals("Europe/Madrid", response.getTimezone()))
+                    .verifyComplete();
+        }
+
+        assertEquals("rapido", router.ranked().get(0).source().name());
+        assertTrue(failing.calls.get() <= 2);
+        assertEquals(6, healthy.calls.get());
+    }
+
+    @Test
+    void remembersUnknownZonesAndRejectsMalformedOnes() {
+        StubProvider slow = new StubProvider("lento", Duration.ZERO, false);
+        StubProvider fast = new StubProvider("rapido", Duration.ZERO, false);
+        TimeSourceRouter router = router(slow, fast);
+
+        StepVerifier.create(router.currentTime("Mars/Olympus_Mons")).expectError(UpstreamStatusException.class).verify();
+        int calls = slow.calls.get() + fast.calls.get();
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(router.currentTime("Mars/Olympus_Mons")).expectError(TimeApiException.class).verify();
+        }
+        StepVerifier.create(router.currentTime("../../etc/passwd")).expectError(TimeApiException.class).verify();
+        StepVerifier.create(router.currentTime("America/Bogotá")).expectError(TimeApiException.class).verify();
+
+        assertEquals(calls, slow.calls.get() + fast.calls.get());
+        assertEquals(5, registry.get(UpstreamMetrics.SHORT_CIRCUITED).tag("reason", "negative_cache").counter().count());
+        assertEquals(2, registry.get(UpstreamMetrics.SHORT_CIRCUITED).tag("reason", "malformed").counter().count());
+    }
+
+    private TimeSourceRouter router(StubProvider... providers) {
+        return new TimeSourceRouter(List.of(providers), offsetCache, unknownZones,
+                binder.bindOrCreate("app.time-source", TimeSourceProperties.class), metrics);
+    }
+
+    /**
+     * Proveedor local con latencia fija, calculado con la tzdb; opcionalmente siempre responde 503.
+     * Las zonas que la tzdb no conoce responden 404.
+     */
+    private final class StubProvider extends RemoteTimeSource {
+        private final Duration latency;
+        private final boolean failing;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final TzdbTimeSource tzdb = new TzdbTimeSource(clock);
+        private boolean enabled = true;
+
+        private StubProvider(String name, Duration latency, boolean failing) {
+            this(name, latency, failing, binder.bindOrCreate("app.world-time-api", UpstreamProperties.class));
+        }
+
+        private StubProvider(String name, Duration latency, boolean failing, UpstreamProperties properties) {
+            super(name, WebClient.create(), offsetCache, properties, metrics, new RetryBudget(properties), clock);
+            this.latency = latency;
+            this.failing = failing;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        @Override
+        protected Mono<UpstreamTime> requestTime(String timezone) {
+            calls.incrementAndGet();
+            if (failing) {
+                return Mono.error(new UpstreamStatusException("Error: 503", 503));
+            }
+            if (!tzdb.supports(timezone)) {
+                return Mono.error(new UpstreamStatusException("Error: 404", 404));
+            }
+            return Mono.delay(latency).map(tick -> new UpstreamTime(tzdb.compute(timezone), null));
+        }
+
+        @Override
+        protected Mono<List<String>> requestZones() {
+            return tzdb.availableZones();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.TransitionProperties;
+import co.unisabana.taller.horamundial.dto.TransitionResponse;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransitionIndexTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-10-20T00:00:00Z"));
+    private final TransitionIndex index = new TransitionIndex(new TzdbTimeSource(clock),
+            new TransitionProperties(Duration.ofDays(30), Duration.ofDays(60), Duration.ofHours(6)), clock);
+
+    @Test
+    void listsUpcomingTransitionsInOrder() {
+        List<TransitionIndex.Transition> upcoming = index.upcoming(Duration.ofDays(30), List.of());
+
+        assertTrue(upcoming.stream().anyMatch(t -> t.timezone().equals("Europe/Madrid")));
+        assertTrue(upcoming.stream().anyMatch(t -> t.timezone().equals("America/New_York")));
+        assertTrue(upcoming.stream().noneMatch(t -> t.timezone().equals("America/Bogota")));
+        for (int i = 1; i < upcoming.size(); i++) {
+            assertTrue(!upcoming.get(i).instant().isBefore(upcoming.get(i - 1).instant()));
+        }
+
+        TransitionResponse madrid = index.upcoming(Duration.ofDays(30), List.of("Europe/Madrid", "America/Bogota"))
+                .get(0).toResponse();
+        assertEquals(Instant.parse("2025-10-26T01:00:00Z"), madrid.getInstant());
+        assertEquals("+02:00", madrid.getOffsetBefore());
+        assertEquals("+01:00", madrid.getOffsetAfter());
+        assertEquals("OVERLAP", madrid.getType());
+    }
+
+    @Test
+    void rejectsUnknownZonesAndRangesBeyondTheHorizon() {
+        assertThrows(TimeApiException.class, () -> index.upcoming(Duration.ofDays(61), List.of()));
+        assertThrows(TimeApiException.class, () -> index.upcoming(Duration.ofDays(1), List.of("Mars/Olympus_Mons")));
+    }
+
+    @Test
+    void nextTransitionStaysWithinTheWindow() {
+        Instant now = clock.instant();
+        assertEquals(Instant.parse("2025-10-26T01:00:00Z"), index.nextTransition("Europe/Madrid", now));
+        // Sin transiciones el desfase vale hasta el final de la ventana
+        assertEquals(now.plus(Duration.ofDays(60)), index.nextTransition("America/Bogota", now));
+        assertNull(index.nextTransition("America/Bogota", now.plus(Duration.ofDays(61))));
+        assertNull(index.nextTransition("Mars/Olympus_Mons", now));
+    }
+
+    @Test
+    void advanceExtendsTheWindow() {
+        // La transición de marzo de 2026 en Madrid queda fuera de la ventana inicial
+        Instant march = Instant.parse("2026-03-29T01:00:00Z");
+        assertEquals(clock.instant().plus(Duration.ofDays(60)), index.nextTransition("Europe/Madrid", Instant.parse("2025-11-01T00:00:00Z")));
+
+        clock.instant = Instant.parse("2026-02-01T00:00:00Z");
+        index.advance();
+
+        assertEquals(march, index.nextTransition("Europe/Madrid", clock.instant()));
+        assertEquals(march, index.upcoming(Duration.ofDays(60), List.of("Europe/Madrid")).get(0).instant());
+        // La de octubre ya salió de la ventana
+        assertNull(index.nextTransition("Europe/Madrid", Instant.parse("2025-10-20T00:00:00Z")));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
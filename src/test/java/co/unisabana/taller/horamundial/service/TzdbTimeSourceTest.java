@@ -0,0 +1,48 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TzdbTimeSourceTest {
+
+    private final TzdbTimeSource source = new TzdbTimeSource(
+            Clock.fixed(Instant.parse("2025-07-01T17:30:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void computesTimeLocally() {
+        TimeResponse response = source.compute("America/Bogota");
+
+        assertEquals("2025-07-01T12:30:00-05:00", response.getDatetime());
+        assertEquals("America/Bogota", response.getTimezone());
+        assertEquals("America", response.getCountry());
+        assertEquals("Bogota", response.getCity());
+        assertEquals("2025-07-01 12:30:00", response.getFormattedDatetime());
+        assertTrue(response.isDaytime());
+    }
+
+    @Test
+    void appliesDaylightSavingFromZoneRules() {
+        TimeResponse response = source.compute("America/New_York");
+
+        assertEquals("2025-07-01T13:30:00-04:00", response.getDatetime());
+        assertEquals("New York", response.getCity());
+    }
+
+    @Test
+    void rejectsUnknownZones() {
+        assertFalse(source.supports("Colombia/Bogota"));
+        StepVerifier.create(source.currentTime("Colombia/Bogota"))
+                .expectError(TimeApiException.class)
+                .verify();
+    }
+}
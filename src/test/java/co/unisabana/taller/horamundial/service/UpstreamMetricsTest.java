@@ -0,0 +1,97 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class UpstreamMetricsTest {
+
+    private static final String BOGOTA = "{\"datetime\":\"2025-07-01T12:30:00.000000-05:00\","
+            + "\"timezone\":\"America/Bogota\",\"utc_offset\":\"-05:00\"}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void timesSuccessfulCallsWithoutZoneTags() {
+        WorldTimeApiTimeSource source = source(request -> Mono.just(json(BOGOTA)));
+
+        StepVerifier.create(source.currentTime("America/Bogota")).expectNextCount(1).verifyComplete();
+
+        assertEquals(1, requests("success"));
+        for (Meter meter : registry.getMeters()) {
+            assertFalse(meter.getId().getTags().stream().anyMatch(tag -> tag.getValue().contains("Bogota")));
+        }
+    }
+
+    @Test
+    void countsEveryAttemptRetryAndExhaustion() {
+        AtomicInteger calls = new AtomicInteger();
+        WorldTimeApiTimeSource source = source(request -> {
+            calls.incrementAndGet();
+            return Mono.error(new ConnectException("Connection refused"));
+        });
+
+        StepVerifier.create(source.currentTime("Europe/Madrid")).expectError().verify();
+
+        assertEquals(3, calls.get());
+        assertEquals(3, requests("connection_error"));
+        assertEquals(3, registry.get(UpstreamMetrics.REQUESTS).timers().stream().mapToLong(Timer::count).sum());
+        assertEquals(2, registry.get(UpstreamMetrics.RETRIES).tag("outcome", "connection_error").counter().count());
+        assertEquals(1, registry.get(UpstreamMetrics.RETRIES_EXHAUSTED).counter().count());
+    }
+
+    @Test
+    void classifiesErrorStatusesWithoutRetrying() {
+        WorldTimeApiTimeSource source = source(request -> Mono.just(
+                ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).body("mantenimiento").build()));
+
+        StepVerifier.create(source.currentTime("Asia/Tokyo")).expectError().verify();
+
+        assertEquals(1, requests("server_error"));
+        assertEquals(0, registry.find(UpstreamMetrics.RETRIES).counters().size());
+    }
+
+    private long requests(String outcome) {
+        return registry.get(UpstreamMetrics.REQUESTS).tag("outcome", outcome).timer().count();
+    }
+
+    private WorldTimeApiTimeSource source(ExchangeFunction exchange) {
+        Binder binder = new Binder(new MapConfigurationPropertySource(Map.of(
+                "app.world-time-api.retry.max-retries", "2",
+                "app.world-time-api.retry.backoff", "PT0.001S")));
+        Clock clock = Clock.systemUTC();
+        UpstreamProperties properties = binder.bindOrCreate("app.world-time-api", UpstreamProperties.class);
+        return new WorldTimeApiTimeSource(
+                WebClient.builder().exchangeFunction(exchange).build(),
+                new ZoneOffsetCache(binder.bindOrCreate("app.offset-cache", OffsetCacheProperties.class), clock),
+                properties, new UpstreamMetrics(registry), new RetryBudget(properties), clock);
+    }
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.UpstreamProperties;
+import co.unisabana.taller.horamundial.exception.CircuitOpenException;
+import co.unisabana.taller.horamundial.exception.DeadlineExceededException;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WorldTimeApiTimeSourceTest {
+
+    private static final String BOGOTA = "{\"datetime\":\"2025-07-01T12:30:00.000000-05:00\","
+            + "\"timezone\":\"America/Bogota\",\"utc_offset\":\"-05:00\"}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void hedgedRequestAnswersWhenFirstCallStalls() {
+        AtomicInteger calls = new AtomicInteger();
+        WorldTimeApiTimeSource source = source(Map.of("app.world-time-api.hedge.max-delay", "PT0.05S"), request ->
+                calls.incrementAndGet() == 1
+                        ? Mono.just(json(BOGOTA)).delayElement(Duration.ofSeconds(5))
+                        : Mono.just(json(BOGOTA)));
+
+        StepVerifier.create(source.currentTime("America/Bogota"))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(2, calls.get());
+        assertEquals(1, registry.get(UpstreamMetrics.HEDGES).tag("result", "won").counter().count());
+    }
+
+    @Test
+    void failsFastOnceCircuitOpens() {
+        AtomicInteger calls = new AtomicInteger();
+        WorldTimeApiTimeSource source = source(Map.of(
+                "app.world-time-api.retry.max-retries", "0",
+                "app.world-time-api.circuit-breaker.minimum-calls", "3"), request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        });
+
+        for (String zone : new String[] {"Europe/Madrid", "Europe/Paris", "Europe/Rome"}) {
+            StepVerifier.create(source.currentTime(zone)).expectError().verify();
+        }
+        StepVerifier.create(source.currentTime("Europe/Berlin")).expectError(CircuitOpenException.class).verify();
+
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, source.circuitBreaker().state());
+    }
+
+    @Test
+    void stopsRetryingWhenDeadlineRunsOut() {
+        AtomicInteger calls = new AtomicInteger();
+        WorldTimeApiTimeSource source = source(Map.of(
+                "app.world-time-api.hedge.enabled", "false",
+                "app.world-time-api.retry.backoff", "PT0.05S"), request -> {
+            calls.incrementAndGet();
+            return Mono.never();
+        });
+
+        // El intento se corta con lo que queda del plazo y ya no hay tiempo para otro
+        StepVerifier.create(source.currentTime("America/Bogota")
+                        .contextWrite(context -> context.put(Deadline.class, Deadline.after(Duration.ofMillis(200)))))
+                .expectError(DeadlineExceededException.class)
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(1, calls.get());
+        assertEquals(1, registry.get(UpstreamMetrics.RETRIES_SKIPPED).tag("reason", "deadline").counter().count());
+    }
+
+    @Test
+    void retryBudgetCapsRetries() {
+        AtomicInteger calls = new AtomicInteger();
+        WorldTimeApiTimeSource source = source(Map.of(
+                "app.world-time-api.hedge.enabled", "false",
+                "app.world-time-api.circuit-breaker.enabled", "false",
+                "app.world-time-api.retry.max-retries", "50",
+                "app.world-time-api.retry.budget-ratio", "0",
+                "app.world-time-api.retry.budget-min-per-second", "0"), request -> {
+            calls.incrementAndGet();
+            return Mono.error(new ConnectException("Connection refused"));
+        });
+
+        StepVerifier.create(source.currentTime("America/Bogota"))
+                .expectError(TimeApiException.class)
+                .verify(Duration.ofSeconds(5));
+
+        // Solo la reserva inicial del presupuesto
+        assertEquals(11, calls.get());
+        assertEquals(1, registry.get(UpstreamMetrics.RETRIES_SKIPPED).tag("reason", "budget").counter().count());
+    }
+
+    private WorldTimeApiTimeSource source(Map<String, String> overrides, ExchangeFunction exchange) {
+        Map<String, String> values = new HashMap<>(overrides);
+        values.putIfAbsent("app.world-time-api.retry.backoff", "PT0.001S");
+        Binder binder = new Binder(new MapConfigurationPropertySource(values));
+        Clock clock = Clock.systemUTC();
+        UpstreamProperties properties = binder.bindOrCreate("app.world-time-api", UpstreamProperties.class);
+        return new WorldTimeApiTimeSource(
+                WebClient.builder().exchangeFunction(exchange).build(),
+                new ZoneOffsetCache(binder.bindOrCreate("app.offset-cache", OffsetCacheProperties.class), clock),
+                properties, new UpstreamMetrics(registry), new RetryBudget(properties), clock);
+    }
+
+    private static ClientResponse json(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
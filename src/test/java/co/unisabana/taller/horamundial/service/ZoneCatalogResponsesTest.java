@@ -0,0 +1,55 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.ZoneCatalogProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZoneCatalogResponsesTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TzdbTimeSource tzdb = new TzdbTimeSource(Clock.systemUTC());
+    private final ZoneCatalog catalog = new ZoneCatalog(tzdb, tzdb,
+            new ZoneCatalogProperties(Duration.ofHours(24), Duration.ofHours(1), Duration.ofMinutes(1)), Clock.systemUTC());
+    private final ZoneCatalogResponses responses = new ZoneCatalogResponses(catalog, objectMapper);
+
+    @Test
+    void servesPrecomputedBodiesPerPrefix() throws Exception {
+        ZoneCatalogResponses.Body argentina = responses.zones("America/Argentina/");
+
+        assertSame(argentina, responses.zones("America/Argentina/"));
+        assertEquals(catalog.withPrefix("America/Argentina/"), List.of(objectMapper.readValue(argentina.json(), String[].class)));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(argentina.gzip()))) {
+            assertArrayEquals(argentina.json(), gzip.readAllBytes());
+        }
+        assertNotEquals(argentina.etag(false), argentina.etag(true));
+        assertNotEquals(argentina.etag(false), responses.zones("").etag(false));
+    }
+
+    @Test
+    void etagSurvivesReloadsWithTheSameZones() {
+        ZoneCatalogResponses.Body before = responses.zones("Europe/");
+
+        catalog.refresh();
+        ZoneCatalogResponses.Body after = responses.zones("Europe/");
+
+        assertEquals(1, catalog.current().version());
+        assertEquals(before.etag(false), after.etag(false));
+        assertTrue(after.matches("\"other\", " + before.etag(false), false));
+        assertTrue(after.matches("W/" + before.etag(true), true));
+        assertFalse(after.matches(before.etag(false), true));
+        assertFalse(after.matches(null, false));
+    }
+}
@@ -0,0 +1,81 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.ZoneCatalogProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import co.unisabana.taller.horamundial.exception.TimeApiException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZoneCatalogTest {
+
+    private final ZoneCatalogProperties properties =
+            new ZoneCatalogProperties(Duration.ofHours(24), Duration.ofHours(1), Duration.ofMinutes(1));
+
+    @Test
+    void findsZonesByPrefixRange() {
+        ZoneCatalog catalog = new ZoneCatalog(new TzdbTimeSource(Clock.systemUTC()), new TzdbTimeSource(Clock.systemUTC()), properties, Clock.systemUTC());
+
+        List<String> argentina = catalog.withPrefix("America/Argentina/");
+        assertTrue(argentina.size() > 1);
+        assertTrue(argentina.stream().allMatch(zone -> zone.startsWith("America/Argentina/")));
+        assertEquals(List.of("America/Bogota"), catalog.withPrefix("America/Bogota"));
+        assertTrue(catalog.withPrefix("Atlantida/").isEmpty());
+        assertTrue(catalog.contains("Europe/Madrid"));
+        assertFalse(catalog.contains("Europe/Bogota"));
+    }
+
+    @Test
+    void snapshotZonesCannotBeReordered() {
+        ZoneCatalog.Snapshot snapshot = ZoneCatalog.Snapshot.of(1, List.of("Europe/Madrid", "America/Bogota"), "stub",
+                Instant.now());
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.all().set(0, "Zulu/Zone"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.zones().sort(null));
+        assertTrue(snapshot.contains("America/Bogota"));
+    }
+
+    @Test
+    void keepsServingPreviousSnapshotWhenRefreshFails() {
+        AtomicReference<Mono<List<String>>> upstream = new AtomicReference<>(Mono.just(List.of("Europe/Madrid", "America/Bogota")));
+        TimeSource remote = new StubSource(upstream);
+        ZoneCatalog catalog = new ZoneCatalog(remote, new TzdbTimeSource(Clock.systemUTC()), properties, Clock.systemUTC());
+
+        catalog.refresh();
+        ZoneCatalog.Snapshot loaded = catalog.current();
+        assertEquals(2, loaded.size());
+        assertEquals("stub", loaded.source());
+
+        upstream.set(Mono.error(new TimeApiException("caído")));
+        catalog.refresh();
+        assertEquals(loaded, catalog.current());
+        assertEquals(List.of("America/Bogota"), catalog.withPrefix("America/"));
+    }
+
+    private record StubSource(AtomicReference<Mono<List<String>>> zones) implements TimeSource {
+        @Override
+        public String name() {
+            return "stub";
+        }
+
+        @Override
+        public Mono<TimeResponse> currentTime(String timezone) {
+            return Mono.error(new UnsupportedOperationException());
+        }
+
+        @Override
+        public Mono<List<String>> availableZones() {
+            return zones.get();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package co.unisabana.taller.horamundial.service;
+
+import co.unisabana.taller.horamundial.config.OffsetCacheProperties;
+import co.unisabana.taller.horamundial.config.TransitionProperties;
+import co.unisabana.taller.horamundial.dto.TimeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ZoneOffsetCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-10-25T12:00:00Z"));
+    private final ZoneOffsetCache cache = new ZoneOffsetCache(
+            new OffsetCacheProperties(2, Duration.ofHours(6), Duration.ofDays(30)),
+            new TransitionIndex(new TzdbTimeSource(clock),
+                    new TransitionProperties(Duration.ofDays(30), Duration.ofDays(400), Duration.ofHours(6)), clock),
+            clock);
+
+    @Test
+    void reusesOffsetUntilNextTransition() {
+        // En Madrid el horario de verano termina el 2025-10-26 a la 01:00 UTC
+        cache.put("Europe/Madrid", ZoneOffset.ofHours(2), null);
+
+        TimeResponse response = cache.currentTime("Europe/Madrid");
+        assertNotNull(response);
+        assertEquals("2025-10-25T14:00:00+02:00", response.getDatetime());
+
+        clock.instant = Instant.parse("2025-10-26T01:00:00Z");
+        assertNull(cache.currentTime("Europe/Madrid"));
+    }
+
+    @Test
+    void zoneWithoutTransitionsIsCappedByMaxTtl() {
+        cache.put("America/Bogota", ZoneOffset.ofHours(-5), null);
+
+        clock.instant = Instant.parse("2025-11-24T11:59:59Z");
+        assertNotNull(cache.currentTime("America/Bogota"));
+        clock.instant = Instant.parse("2025-11-24T12:00:00Z");
+        assertNull(cache.currentTime("America/Bogota"));
+    }
+
+    @Test
+    void usesTransitionReportedByUpstream() {
+        cache.put("Mars/Olympus_Mons", ZoneOffset.ofHours(-3), Instant.parse("2025-10-25T13:00:00Z"));
+        assertNotNull(cache.currentTime("Mars/Olympus_Mons"));
+
+        clock.instant = Instant.parse("2025-10-25T13:00:00Z");
+        assertNull(cache.currentTime("Mars/Olympus_Mons"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedZone() {
+        cache.put("America/Bogota", ZoneOffset.ofHours(-5), null);
+        cache.put("Europe/Madrid", ZoneOffset.ofHours(2), null);
+        cache.currentTime("America/Bogota");
+        cache.put("Asia/Tokyo", ZoneOffset.ofHours(9), null);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.currentTime("America/Bogota"));
+        assertNull(cache.currentTime("Europe/Madrid"));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
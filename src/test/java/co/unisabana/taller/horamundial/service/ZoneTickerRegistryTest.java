@@ -0,0 +1,41 @@
+package co.unisabana.taller.horamundial.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZoneTickerRegistryTest {
+
+    private final ZoneTickerRegistry registry = new ZoneTickerRegistry(
+            new TzdbTimeSource(Clock.systemUTC()), new ObjectMapper(), Clock.systemUTC());
+
+    @Test
+    void sharesOneTickerPerZoneAndStopsItWithLastSubscriber() {
+        List<ZoneTickerRegistry.Tick> first = new CopyOnWriteArrayList<>();
+        List<ZoneTickerRegistry.Tick> second = new CopyOnWriteArrayList<>();
+
+        Disposable a = registry.ticks("America/Bogota").subscribe(first::add);
+        Disposable b = registry.ticks("America/Bogota").subscribe(second::add);
+        Disposable c = registry.ticks("Europe/Madrid").subscribe();
+        assertEquals(2, registry.activeTickers());
+
+        await().until(() -> first.size() >= 2 && second.size() >= 2);
+        // Ambos suscriptores reciben el mismo payload precalculado
+        String shared = second.get(1).payload();
+        assertTrue(first.stream().anyMatch(tick -> tick.payload() == shared));
+
+        a.dispose();
+        assertEquals(2, registry.activeTickers());
+        b.dispose();
+        c.dispose();
+        assertEquals(0, registry.activeTickers());
+    }
+}